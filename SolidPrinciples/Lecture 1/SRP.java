@@ -273,6 +273,407 @@ public class SettingsPersistence {
 */
 // <==================================================================================>
 
+//Example 6 : Sharded Employee Storage
 
+//Problematic Code
+
+public class EmployeeRepository {
+    private final Map<String, Employee> employees = new HashMap<>();
+
+    public void saveEmployee(Employee employee) {
+        employees.put(employee.getName(), employee);
+    }
+
+    public Employee findEmployee(String name) {
+        return employees.get(name);
+    }
+
+    public void addNode(Map<String, Employee> node) {
+        // Where should which employee live now? Every caller has to work it out.
+    }
+}
+
+/*
+   Why it is problematic: The repository assumes a single store. Once the data outgrows one node, the repository 
+   has to choose a node for each record, talk to several stores, and move data when nodes are added. Putting all of 
+   that in EmployeeRepository, or in its callers, mixes persistence with placement and rebalancing.
+*/
+
+//Better Code
+
+public interface EmployeeStore {
+    void save(String key, Employee employee);
+    Employee find(String key);
+    Map<String, Employee> findAll(Collection<String> keys);
+    Set<String> keys();
+    void delete(String key);
+}
+
+public class InMemoryEmployeeStore implements EmployeeStore {
+    private final ConcurrentHashMap<String, Employee> employees = new ConcurrentHashMap<>();
+
+    public void save(String key, Employee employee) { employees.put(key, employee); }
+    public Employee find(String key) { return employees.get(key); }
+    public Set<String> keys() { return new HashSet<>(employees.keySet()); }
+    public void delete(String key) { employees.remove(key); }
+
+    public Map<String, Employee> findAll(Collection<String> keys) {
+        Map<String, Employee> found = new HashMap<>();
+        for (String key : keys) {
+            Employee employee = employees.get(key);
+            if (employee != null) {
+                found.put(key, employee);
+            }
+        }
+        return found;
+    }
+}
 
+public class FileEmployeeStore implements EmployeeStore {
+    private static final String SUFFIX = ".employee";
+
+    private final Path directory;
+
+    public FileEmployeeStore(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create " + directory, e);
+        }
+    }
+
+    public void save(String key, Employee employee) {
+        // Write to a temporary file and rename it, so readers never see a half-written employee
+        Path target = fileFor(key);
+        Path temp = directory.resolve(target.getFileName() + "." + Thread.currentThread().getId() + ".tmp");
+        try {
+            Files.write(temp, Arrays.asList(employee.getName(), employee.getDepartment()), StandardCharsets.UTF_8);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not save employee " + key, e);
+        }
+    }
+
+    public Employee find(String key) {
+        try {
+            List<String> lines = Files.readAllLines(fileFor(key), StandardCharsets.UTF_8);
+            return new Employee(lines.get(0), lines.get(1));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read employee " + key, e);
+        }
+    }
+
+    public Map<String, Employee> findAll(Collection<String> keys) {
+        Map<String, Employee> found = new HashMap<>();
+        for (String key : keys) {
+            Employee employee = find(key);
+            if (employee != null) {
+                found.put(key, employee);
+            }
+        }
+        return found;
+    }
+
+    public Set<String> keys() {
+        Set<String> keys = new HashSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                keys.add(URLDecoder.decode(name.substring(0, name.length() - SUFFIX.length()), StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list " + directory, e);
+        }
+        return keys;
+    }
+
+    public void delete(String key) {
+        try {
+            Files.deleteIfExists(fileFor(key));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete employee " + key, e);
+        }
+    }
+
+    private Path fileFor(String key) {
+        return directory.resolve(URLEncoder.encode(key, StandardCharsets.UTF_8) + SUFFIX);
+    }
+}
+
+public final class ConsistentHashRing {
+    private final NavigableMap<Long, String> ring;
+    private final int virtualNodes;
+
+    public ConsistentHashRing(int virtualNodes) {
+        this(new TreeMap<>(), virtualNodes);
+    }
+
+    private ConsistentHashRing(NavigableMap<Long, String> ring, int virtualNodes) {
+        this.ring = ring;
+        this.virtualNodes = virtualNodes;
+    }
 
+    public ConsistentHashRing withNode(String nodeId) {
+        TreeMap<Long, String> copy = new TreeMap<>(ring);
+        for (int i = 0; i < virtualNodes; i++) {
+            copy.put(hash(nodeId + "#" + i), nodeId);
+        }
+        return new ConsistentHashRing(copy, virtualNodes);
+    }
+
+    public String nodeFor(String key) {
+        if (ring.isEmpty()) {
+            throw new IllegalStateException("No shards registered");
+        }
+        Map.Entry<Long, String> owner = ring.ceilingEntry(hash(key));
+        return owner != null ? owner.getValue() : ring.firstEntry().getValue();
+    }
+
+    static long hash(String value) {
+        // 64-bit FNV-1a followed by a murmur3 finalizer to spread similar keys around the ring
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
+
+public class ShardedEmployeeRepository {
+    private static final int LOCK_STRIPES = 256;
+
+    // The ring in use and, while a shard is being added, the ring from before. Swapped as one object, so every
+    // operation sees a consistent pair.
+    private static final class Topology {
+        private final ConsistentHashRing current;
+        private final ConsistentHashRing previous;
+
+        Topology(ConsistentHashRing current, ConsistentHashRing previous) {
+            this.current = current;
+            this.previous = previous;
+        }
+    }
+
+    private final Map<String, EmployeeStore> shards = new ConcurrentHashMap<>();
+    private final ReentrantLock[] keyLocks = new ReentrantLock[LOCK_STRIPES];
+    private final Function<Employee, String> keyOf;
+    private final ExecutorService executor;
+    private volatile Topology topology;
+
+    public ShardedEmployeeRepository(Function<Employee, String> keyOf, ExecutorService executor, int virtualNodes) {
+        this.keyOf = keyOf;
+        this.executor = executor;
+        this.topology = new Topology(new ConsistentHashRing(virtualNodes), null);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            keyLocks[i] = new ReentrantLock();
+        }
+    }
+
+    public void saveEmployee(Employee employee) {
+        String key = keyOf.apply(employee);
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            Topology t = topology;
+            String owner = t.current.nodeFor(key);
+            shards.get(owner).save(key, employee);
+            if (t.previous != null) {
+                String previousOwner = t.previous.nodeFor(key);
+                if (!previousOwner.equals(owner)) {
+                    // The old copy is stale now; removing it keeps reads of the previous owner correct
+                    shards.get(previousOwner).delete(key);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void deleteEmployee(String key) {
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            Topology t = topology;
+            shards.get(t.current.nodeFor(key)).delete(key);
+            if (t.previous != null) {
+                shards.get(t.previous.nodeFor(key)).delete(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Employee findEmployee(String key) {
+        while (true) {
+            Topology t = topology;
+            Employee employee = find(t, key);
+            if (employee != null || t == topology) {
+                return employee;
+            }
+            // A shard was added or finished moving while we read, so the key may have moved: look again
+        }
+    }
+
+    public Map<String, Employee> findEmployees(Collection<String> keys) {
+        Map<String, Employee> found = new HashMap<>();
+        List<String> remaining = new ArrayList<>(keys);
+        while (true) {
+            Topology t = topology;
+            if (t.previous != null) {
+                // Same order as find(): previous owners of moving keys first, then current owners, each in parallel
+                Map<String, List<String>> movingByShard = new HashMap<>();
+                for (String key : remaining) {
+                    String previousOwner = t.previous.nodeFor(key);
+                    if (!previousOwner.equals(t.current.nodeFor(key))) {
+                        movingByShard.computeIfAbsent(previousOwner, shard -> new ArrayList<>()).add(key);
+                    }
+                }
+                found.putAll(scatterGather(movingByShard));
+                remaining.removeIf(found::containsKey);
+            }
+
+            Map<String, List<String>> keysByShard = new HashMap<>();
+            for (String key : remaining) {
+                keysByShard.computeIfAbsent(t.current.nodeFor(key), shard -> new ArrayList<>()).add(key);
+            }
+            found.putAll(scatterGather(keysByShard));
+            remaining.removeIf(found::containsKey);
+
+            if (remaining.isEmpty() || t == topology) {
+                return found;
+            }
+        }
+    }
+
+    public synchronized void addShard(String shardId, EmployeeStore store) {
+        if (topology.previous != null) {
+            // Only left behind when a move and its rollback both failed; a new ring would drop the one still in use
+            throw new IllegalStateException("An earlier addShard did not finish; keys are split across two rings");
+        }
+        if (shards.putIfAbsent(shardId, store) != null) {
+            throw new IllegalArgumentException("Shard " + shardId + " is already registered");
+        }
+        ConsistentHashRing before = topology.current;
+        ConsistentHashRing after = before.withNode(shardId);
+        // Route new writes to the new layout first, wait for writes still using the old one, then move the keys
+        // the new shard now owns
+        topology = new Topology(after, before);
+        drainWriters();
+        try {
+            for (Map.Entry<String, EmployeeStore> shard : shards.entrySet()) {
+                if (shard.getKey().equals(shardId)) {
+                    continue;
+                }
+                for (String key : shard.getValue().keys()) {
+                    if (after.nodeFor(key).equals(shardId)) {
+                        moveKey(key, shard.getValue(), store);
+                    }
+                }
+            }
+        } catch (RuntimeException moveFailure) {
+            rollBack(shardId, store, before, after, moveFailure);
+            throw moveFailure;
+        }
+        topology = new Topology(after, null);
+    }
+
+    private void rollBack(String shardId, EmployeeStore store, ConsistentHashRing before, ConsistentHashRing after,
+                          RuntimeException moveFailure) {
+        // The same protocol in reverse: route writes back to the old layout, wait for writes still using the new one,
+        // then return every key the new shard holds, including ones written there during the move
+        topology = new Topology(before, after);
+        drainWriters();
+        try {
+            for (String key : store.keys()) {
+                moveKey(key, store, shards.get(before.nodeFor(key)));
+            }
+        } catch (RuntimeException rollbackFailure) {
+            // Keep both rings so every key stays reachable through the previous-owner reads
+            moveFailure.addSuppressed(rollbackFailure);
+            return;
+        }
+        topology = new Topology(before, null);
+        shards.remove(shardId);
+    }
+
+    private Employee find(Topology t, String key) {
+        String owner = t.current.nodeFor(key);
+        if (t.previous != null) {
+            String previousOwner = t.previous.nodeFor(key);
+            if (!previousOwner.equals(owner)) {
+                // A move saves to the new owner before deleting from the old one, so check the old owner first
+                Employee employee = shards.get(previousOwner).find(key);
+                if (employee != null) {
+                    return employee;
+                }
+            }
+        }
+        return shards.get(owner).find(key);
+    }
+
+    private Map<String, Employee> scatterGather(Map<String, List<String>> keysByShard) {
+        List<CompletableFuture<Map<String, Employee>>> reads = new ArrayList<>();
+        for (Map.Entry<String, List<String>> batch : keysByShard.entrySet()) {
+            EmployeeStore store = shards.get(batch.getKey());
+            reads.add(CompletableFuture.supplyAsync(() -> store.findAll(batch.getValue()), executor));
+        }
+        Map<String, Employee> found = new HashMap<>();
+        for (CompletableFuture<Map<String, Employee>> read : reads) {
+            found.putAll(read.join());
+        }
+        return found;
+    }
+
+    private void drainWriters() {
+        // A writer that read the old topology still holds its key lock; once every lock has been taken, all of them
+        // have finished
+        for (ReentrantLock lock : keyLocks) {
+            lock.lock();
+            lock.unlock();
+        }
+    }
+
+    private void moveKey(String key, EmployeeStore from, EmployeeStore to) {
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            // Re-read under the key lock: a delete or a newer save since keys() was listed wins over the listing
+            Employee employee = from.find(key);
+            if (employee != null) {
+                to.save(key, employee);
+                from.delete(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lockFor(String key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return keyLocks[(h ^ (h >>> 16)) & (LOCK_STRIPES - 1)];
+    }
+}
+
+/*
+   Why it is better: Each class has one job. EmployeeStore persists employees on a single node, whether in memory 
+   (InMemoryEmployeeStore) or in local files (FileEmployeeStore). ConsistentHashRing decides which node owns a key, and 
+   ShardedEmployeeRepository routes, scatters and gathers. Virtual nodes spread each shard over many points on the 
+   ring, so adding a shard only moves the keys it takes over (about 1/N of the data) instead of reshuffling everything. 
+   Rebalancing happens online. Writes switch to the new layout at once and clear any stale copy on the old owner, and 
+   the move only starts after every write still using the old layout has drained. Each key is moved under its own lock 
+   after re-reading the source, so a concurrent delete or save is never undone. Reads check the old owner before the 
+   new one and retry if the layout changed underneath them, and findEmployees() keeps querying shards in parallel 
+   during a move. A move that fails part-way is rolled back. ShardedEmployeeRepositoryTest in the benchmarks/ module 
+   covers routing, scatter-gather, adding a file-backed shard while writes continue, and a failed addShard.
+*/
+
+// <==================================================================================>
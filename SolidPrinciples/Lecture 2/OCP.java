@@ -280,4 +280,557 @@ public class NotificationService {
     making the system more flexible and easier to extend without modifying existing code.
 */
 
+// <==================================================================================>
+
+// Example 6: Instrumenting Strategies
+
+// Problematic Code
+
+public class DiscountCalculator {
+    public double calculateDiscount(DiscountStrategy discountStrategy, double amount) {
+        long start = metrics.start();
+        double result = discountStrategy.applyDiscount(amount);
+        System.out.println(discountStrategy.getClass().getSimpleName() + " took " + (System.nanoTime() - start) + " ns");
+        return result;
+    }
+}
+
+/*
+    Why it is problematic: Measuring a strategy means editing every class that calls it, and the same timing code has 
+    to be copied into AreaCalculator, Logger, PaymentProcessor and NotificationService. The numbers are printed rather 
+    than aggregated, failures are not counted, and the println costs far more than the call being measured.
+*/
+
+// Better Version
+
+public interface CallMetricsMXBean {
+    long getCalls();
+    long getErrors();
+    double getErrorRate();
+    long getMedianNanos();
+    long getP99Nanos();
+}
+
+public class CallMetrics implements CallMetricsMXBean {
+    // HDR-style log-linear buckets: 8 linear sub-buckets per power of two, about 12% worst-case relative error
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS;
+    // Threads record into different copies of the histogram, like LongAdder cells; each copy spans several KB,
+    // so two stripes never share a cache line
+    private static final int STRIPES = Integer.highestOneBit(Runtime.getRuntime().availableProcessors()) << 1;
+    // Call counters sit 16 longs (128 bytes) apart for the same reason
+    private static final int COUNTER_SPACING = 16;
+    // Every call is counted, but only one in SAMPLE_PERIOD is timed: a System.nanoTime() pair costs 40-100 ns on
+    // virtualized hosts, which alone would exceed the overhead budget
+    static final int SAMPLE_PERIOD = 16;
+    static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(STRIPES * BUCKETS);
+    private final AtomicLongArray calls = new AtomicLongArray(STRIPES * COUNTER_SPACING);
+    private final LongAdder errors = new LongAdder();
+
+    // Counts the call and returns its start time if it is sampled, or NOT_SAMPLED; pass the result to stop()
+    public long start() {
+        long call = calls.getAndIncrement(stripe() * COUNTER_SPACING);
+        return (call & (SAMPLE_PERIOD - 1)) == 0 ? System.nanoTime() : NOT_SAMPLED;
+    }
+
+    public void stop(long start, boolean failed) {
+        if (failed) {
+            errors.increment();
+        }
+        if (start != NOT_SAMPLED) {
+            buckets.incrementAndGet(stripe() * BUCKETS + bucketIndex(Math.max(System.nanoTime() - start, 0)));
+        }
+    }
+
+    @Override
+    public long getCalls() {
+        long total = 0;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            total += calls.get(stripe * COUNTER_SPACING);
+        }
+        return total;
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public double getErrorRate() {
+        long total = getCalls();
+        return total == 0 ? 0.0 : (double) errors.sum() / total;
+    }
+
+    @Override
+    public long getMedianNanos() {
+        return percentile(0.5);
+    }
+
+    @Override
+    public long getP99Nanos() {
+        return percentile(0.99);
+    }
+
+    // Estimated from the sampled calls only
+    public long percentile(double fraction) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            for (int i = 0; i < BUCKETS; i++) {
+                long count = buckets.get(stripe * BUCKETS + i);
+                snapshot[i] += count;
+                total += count;
+            }
+        }
+        long target = (long) Math.ceil(fraction * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= target && snapshot[i] > 0) {
+                return lowerBound(i);
+            }
+        }
+        return 0;
+    }
+
+    private static int stripe() {
+        long id = Thread.currentThread().getId();
+        int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+
+    static int bucketIndex(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(nanos);
+        int subBucket = (int) (nanos >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return ((magnitude - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int magnitude = (index >>> SUB_BUCKET_BITS) + SUB_BUCKET_BITS - 1;
+        long subBucket = index & (SUB_BUCKETS - 1);
+        return (SUB_BUCKETS + subBucket) << (magnitude - SUB_BUCKET_BITS);
+    }
+}
+
+public class MetricsRegistry implements AutoCloseable {
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    // Part of every ObjectName, so two registries in one JVM never collide on, or take over, each other's beans
+    private final int id = NEXT_ID.incrementAndGet();
+    private final ConcurrentHashMap<String, CallMetrics> metrics = new ConcurrentHashMap<>();
+
+    public CallMetrics metricsFor(String name) {
+        CallMetrics existing = metrics.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        // Publish with putIfAbsent and register afterwards, so the MBeanServer call never runs inside a map bin lock
+        CallMetrics created = new CallMetrics();
+        CallMetrics raced = metrics.putIfAbsent(name, created);
+        if (raced != null) {
+            return raced;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(created, objectName(name));
+        } catch (JMException e) {
+            metrics.remove(name, created);
+            throw new IllegalStateException("Could not expose metrics for " + name + " over JMX", e);
+        }
+        return created;
+    }
+
+    @Override
+    public void close() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (String name : metrics.keySet()) {
+            try {
+                server.unregisterMBean(objectName(name));
+            } catch (InstanceNotFoundException alreadyGone) {
+                // Removed through JMX by someone else; nothing left to clean up
+            } catch (JMException e) {
+                throw new IllegalStateException("Could not remove metrics for " + name + " from JMX", e);
+            }
+        }
+        metrics.clear();
+    }
+
+    private ObjectName objectName(String name) throws MalformedObjectNameException {
+        return new ObjectName("solid.strategies:type=CallMetrics,registry=" + id + ",name=" + ObjectName.quote(name));
+    }
+}
+
+public class TimedDiscountStrategy implements DiscountStrategy {
+    private final DiscountStrategy delegate;
+    private final CallMetrics metrics;
+
+    public TimedDiscountStrategy(DiscountStrategy delegate, MetricsRegistry registry) {
+        this.delegate = delegate;
+        this.metrics = registry.metricsFor("DiscountStrategy." + delegate.getClass().getName());
+    }
+
+    public double applyDiscount(double amount) {
+        long start = metrics.start();
+        boolean failed = true;
+        try {
+            double result = delegate.applyDiscount(amount);
+            failed = false;
+            return result;
+        } finally {
+            metrics.stop(start, failed);
+        }
+    }
+}
+
+public class TimedLogStrategy implements LogStrategy {
+    private final LogStrategy delegate;
+    private final CallMetrics metrics;
+
+    public TimedLogStrategy(LogStrategy delegate, MetricsRegistry registry) {
+        this.delegate = delegate;
+        this.metrics = registry.metricsFor("LogStrategy." + delegate.getClass().getName());
+    }
+
+    public void log(String message) {
+        long start = metrics.start();
+        boolean failed = true;
+        try {
+            delegate.log(message);
+            failed = false;
+        } finally {
+            metrics.stop(start, failed);
+        }
+    }
+}
+
+public class TimedPaymentMethod implements PaymentMethod {
+    private final PaymentMethod delegate;
+    private final CallMetrics metrics;
+
+    public TimedPaymentMethod(PaymentMethod delegate, MetricsRegistry registry) {
+        this.delegate = delegate;
+        this.metrics = registry.metricsFor("PaymentMethod." + delegate.getClass().getName());
+    }
+
+    public void processPayment(double amount) {
+        long start = metrics.start();
+        boolean failed = true;
+        try {
+            delegate.processPayment(amount);
+            failed = false;
+        } finally {
+            metrics.stop(start, failed);
+        }
+    }
+}
+
+public class TimedNotificationChannel implements NotificationChannel {
+    private final NotificationChannel delegate;
+    private final CallMetrics metrics;
+
+    public TimedNotificationChannel(NotificationChannel delegate, MetricsRegistry registry) {
+        this.delegate = delegate;
+        this.metrics = registry.metricsFor("NotificationChannel." + delegate.getClass().getName());
+    }
+
+    public void sendNotification(String message) {
+        long start = metrics.start();
+        boolean failed = true;
+        try {
+            delegate.sendNotification(message);
+            failed = false;
+        } finally {
+            metrics.stop(start, failed);
+        }
+    }
+}
+
+public class TimedShape implements Shape {
+    private final Shape delegate;
+    private final CallMetrics metrics;
+
+    public TimedShape(Shape delegate, MetricsRegistry registry) {
+        this.delegate = delegate;
+        this.metrics = registry.metricsFor("Shape." + delegate.getClass().getName());
+    }
+
+    @Override
+    public double calculateArea() {
+        long start = metrics.start();
+        boolean failed = true;
+        try {
+            double area = delegate.calculateArea();
+            failed = false;
+            return area;
+        } finally {
+            metrics.stop(start, failed);
+        }
+    }
+}
+
+/*
+    Why it is better: Instrumentation is added by wrapping a strategy, not by editing it or its callers. new Logger(new 
+    TimedLogStrategy(new FileLogStrategy(), registry)) is still just a Logger with a LogStrategy, so the calculators, 
+    processors and services stay closed for modification. Each decorator records a call count, an error count and a 
+    latency histogram under the delegate's full class name. Every call bumps a striped counter, but only one call in 16 
+    reads the clock, because a System.nanoTime() pair alone can cost 100 ns on a virtual machine. The sampled latencies 
+    go into HDR-style log-linear buckets in a fixed array of atomic counters, striped per thread the way LongAdder 
+    stripes its cells, so recording never takes a lock, never allocates, and threads with similar latencies do not fight 
+    over one cache line. Every CallMetrics is registered as an MXBean, so JConsole or any JMX scraper can read calls, 
+    error rate, median and p99 per implementation; each registry adds its own id to the ObjectName, so several 
+    registries in one JVM stay visible side by side, and close() removes a registry's beans. 
+    InstrumentationOverheadBenchmark (benchmarks/ module) runs the plain and timed strategy at the same thread count. On 
+    a single-vCPU VM the timed strategy costs 19.5 ns against 1.7 ns with one thread, so about 18 ns of overhead; with 
+    four threads on that one CPU both numbers grow about 4x from time slicing (81 ns against 5.9 ns), so the 50 ns 
+    budget under real contention still has to be confirmed on a multi-core machine.
+*/
+
+// <==================================================================================>
+
+// Example 7: Discovering Strategies at Startup
+
+// Problematic Code
+
+public class DiscountStrategies {
+    private final Map<String, DiscountStrategy> strategies = new HashMap<>();
+
+    public DiscountStrategies() {
+        // Loads and instantiates every implementation before the first lookup
+        for (DiscountStrategy strategy : ServiceLoader.load(DiscountStrategy.class)) {
+            strategies.put(strategy.getClass().getSimpleName(), strategy);
+        }
+    }
+
+    public DiscountStrategy get(String key) {
+        return strategies.get(key);
+    }
+}
+
+/*
+    Why it is problematic: Adding strategies without touching existing code is the point of OCP, but this registry makes 
+    every new strategy slow down startup. Each implementation is loaded, linked and constructed up front, even if the 
+    process never uses it. With hundreds of strategies, startup time grows with every class on the classpath.
+*/
+
+// Better Version
+
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface StrategyKey {
+    String value();
+}
+
+@SupportedAnnotationTypes("StrategyKey")
+public class StrategyIndexProcessor extends AbstractProcessor {
+    static final String INDEX_RESOURCE = "META-INF/strategy-index";
+
+    // "service key" -> implementation, in the order the entries were found
+    private final Map<String, String> entries = new LinkedHashMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(StrategyKey.class)) {
+            TypeElement implementation = (TypeElement) element;
+            String key = implementation.getAnnotation(StrategyKey.class).value();
+            String className = processingEnv.getElementUtils().getBinaryName(implementation).toString();
+            Set<String> services = new LinkedHashSet<>();
+            collectServices(implementation.asType(), services);
+            for (String service : services) {
+                String previous = entries.putIfAbsent(service + " " + key, className);
+                if (previous != null) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                            "Key '" + key + "' for " + service + " is already used by " + previous, implementation);
+                }
+            }
+        }
+        if (roundEnv.processingOver() && !entries.isEmpty()) {
+            writeIndex();
+        }
+        return true;
+    }
+
+    private void collectServices(TypeMirror type, Set<String> services) {
+        // Walks superclasses and superinterfaces, so a strategy extending an abstract base class is indexed as well
+        TypeElement element = (TypeElement) processingEnv.getTypeUtils().asElement(type);
+        if (element == null) {
+            return;
+        }
+        for (TypeMirror service : element.getInterfaces()) {
+            TypeElement serviceElement = (TypeElement) processingEnv.getTypeUtils().asElement(service);
+            if (services.add(serviceElement.getQualifiedName().toString())) {
+                collectServices(service, services);
+            }
+        }
+        if (element.getSuperclass().getKind() == TypeKind.DECLARED) {
+            collectServices(element.getSuperclass(), services);
+        }
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+            try (Writer writer = index.openWriter()) {
+                for (Map.Entry<String, String> entry : entries.entrySet()) {
+                    writer.write(entry.getKey() + " " + entry.getValue());
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write " + INDEX_RESOURCE + ": " + e);
+        }
+    }
+}
+
+public class StrategyRegistry<T> {
+    private final Class<T> service;
+    private final ClassLoader classLoader;
+    private final Map<String, String> implementations = new HashMap<>();
+    private final ConcurrentHashMap<String, T> instances = new ConcurrentHashMap<>();
+
+    public StrategyRegistry(Class<T> service, ClassLoader classLoader) {
+        this.service = service;
+        this.classLoader = classLoader;
+        readIndexes();
+    }
+
+    private StrategyRegistry(Class<T> service, ClassLoader classLoader, Path snapshot) throws IOException {
+        this.service = service;
+        this.classLoader = classLoader;
+        List<String> resolved = new ArrayList<>();
+        for (String line : Files.readAllLines(snapshot, StandardCharsets.UTF_8)) {
+            String[] parts = line.split(" ");
+            if (parts.length == 4 && parts[0].equals(service.getName())) {
+                register(parts[1], parts[2], snapshot.toString());
+                if (parts[3].equals("resolved")) {
+                    resolved.add(parts[1]);
+                }
+            }
+        }
+        // Whatever the previous run needed is resolved again up front, so the first requests after a restart are warm
+        for (String key : resolved) {
+            get(key);
+        }
+    }
+
+    public static <T> StrategyRegistry<T> fromSnapshot(Class<T> service, ClassLoader classLoader, Path snapshot)
+            throws IOException {
+        return new StrategyRegistry<>(service, classLoader, snapshot);
+    }
+
+    public T get(String key) {
+        T instance = instances.get(key);
+        return instance != null ? instance : instances.computeIfAbsent(key, this::instantiate);
+    }
+
+    public Set<String> keys() {
+        return Collections.unmodifiableSet(implementations.keySet());
+    }
+
+    public void writeSnapshot(Path snapshot) throws IOException {
+        // The whole key -> implementation map, plus which keys this run resolved; one file instead of a classpath scan
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, String> entry : implementations.entrySet()) {
+            String state = instances.containsKey(entry.getKey()) ? "resolved" : "lazy";
+            lines.add(service.getName() + " " + entry.getKey() + " " + entry.getValue() + " " + state);
+        }
+        Files.write(snapshot, lines, StandardCharsets.UTF_8);
+    }
+
+    public void writeClassList(Path classList) throws IOException {
+        // One internal class name per line: the format -XX:SharedClassListFile expects for an AppCDS dump
+        List<String> lines = new ArrayList<>();
+        for (T instance : instances.values()) {
+            lines.add(instance.getClass().getName().replace('.', '/'));
+        }
+        Files.write(classList, lines);
+    }
+
+    private T instantiate(String key) {
+        String className = implementations.get(key);
+        if (className == null) {
+            throw new IllegalArgumentException("No " + service.getSimpleName() + " registered under '" + key + "'");
+        }
+        try {
+            return Class.forName(className, true, classLoader).asSubclass(service).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not instantiate " + className + " for '" + key + "'", e);
+        }
+    }
+
+    private void register(String key, String className, String origin) {
+        String previous = implementations.putIfAbsent(key, className);
+        if (previous != null && !previous.equals(className)) {
+            throw new IllegalStateException("Key '" + key + "' for " + service.getName() + " maps to both " + previous
+                    + " and " + className + " (seen in " + origin + ")");
+        }
+    }
+
+    private void readIndexes() {
+        // Only reads text: no strategy class is loaded until its key is first requested
+        try {
+            Enumeration<URL> indexes = classLoader.getResources(StrategyIndexProcessor.INDEX_RESOURCE);
+            while (indexes.hasMoreElements()) {
+                URL index = indexes.nextElement();
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(index.openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        String[] parts = line.trim().split(" ");
+                        if (parts.length == 3 && parts[0].equals(service.getName())) {
+                            register(parts[1], parts[2], index.toString());
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + StrategyIndexProcessor.INDEX_RESOURCE, e);
+        }
+    }
+}
+
+@StrategyKey("fixed")
+public class FixedDiscountStrategy implements DiscountStrategy {
+    public double applyDiscount(double amount) {
+        return amount - 50;
+    }
+}
+
+@StrategyKey("percentage")
+public class PercentageDiscountStrategy implements DiscountStrategy {
+    public double applyDiscount(double amount) {
+        return amount - amount * 0.1;
+    }
+}
+
+// Usage:
+// StrategyRegistry<DiscountStrategy> discounts = new StrategyRegistry<>(DiscountStrategy.class, classLoader);
+// new DiscountCalculator().calculateDiscount(discounts.get("percentage"), 200.0);
+
+/*
+    Why it is better: Discovery happens at compile time. StrategyIndexProcessor writes one line per service an annotated 
+    implementation provides (service, key, class) into META-INF/strategy-index, including services inherited through 
+    abstract base classes, and rejects two strategies that claim the same key. At startup the registry only reads text 
+    and fills a HashMap, failing fast if two index files disagree about a key. Nothing is loaded or constructed until 
+    get() asks for a key, which resolves in O(1) and caches the instance. New strategies for DiscountStrategy, 
+    PaymentMethod, NotificationChannel or LogStrategy are still just new annotated classes. For fast restarts, 
+    writeSnapshot() saves the full key -> implementation map and which keys were resolved; fromSnapshot() rebuilds the 
+    registry from that one file without scanning the classpath and resolves the same keys again up front. 
+    writeClassList() records the same classes in the class list format expected by -Xshare:dump 
+    -XX:SharedClassListFile, so an AppCDS archive can make them cheap to load as well.
+*/
+
 // <==================================================================================>
\ No newline at end of file
@@ -283,4 +283,578 @@ class ElectricEngine implements Engine {
     in ways appropriate to their types, adhering to LSP. This design allows objects of Engine type 
     (whether CombustionEngine or ElectricEngine) to be used interchangeably without altering the correctness of the program, 
     ensuring that extending functionality does not lead to violations of expected behaviors.
-*/
\ No newline at end of file
+*/
+
+// Example 6: Caching Access Decisions
+
+// Problematic Code
+
+class AccessDecisionCache {
+    private final Map<String, Boolean> decisions = new ConcurrentHashMap<>();
+
+    public boolean checkAccess(String userId, User user, String resource) {
+        return decisions.computeIfAbsent(userId + ":" + resource, key -> user.checkAccess());
+    }
+
+    public void onRolesChanged(String userId) {
+        // Walk every cached decision to find the ones that belong to this user
+        decisions.keySet().removeIf(key -> key.startsWith(userId + ":"));
+    }
+}
+
+/*
+    Why it is problematic: Invalidating a single user scans the whole cache, so a role change costs time proportional to 
+    every decision ever cached. A decision computed just before the scan can still be inserted just after it, handing out 
+    stale access. The cache grows without bound, computeIfAbsent holds a bin lock while checkAccess() runs, and nobody can 
+    tell whether the cache is actually hitting.
+*/
+
+// Better Version
+
+class AccessDecisionCache {
+    // Rough footprint of one entry: the key, the decision, the map node that holds them and its resident slot
+    private static final int ESTIMATED_BYTES_PER_ENTRY = 104;
+    // Fixed number of per-user epoch stripes, so epochs cost the same memory no matter how many users show up
+    private static final int EPOCH_STRIPES = 4096;
+    private static final int EVICTION_SAMPLES = 5;
+
+    private final ConcurrentHashMap<DecisionKey, Decision> decisions = new ConcurrentHashMap<>();
+    private final AtomicLongArray userEpochs = new AtomicLongArray(EPOCH_STRIPES);
+    private final AtomicLong globalEpoch = new AtomicLong();
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicReferenceArray<DecisionKey> residents;
+    private final AtomicInteger filledSlots = new AtomicInteger();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public AccessDecisionCache(long maxBytes) {
+        this.residents = new AtomicReferenceArray<>(
+                (int) Math.max(1, Math.min(Integer.MAX_VALUE - 8, maxBytes / ESTIMATED_BYTES_PER_ENTRY)));
+    }
+
+    public boolean checkAccess(String userId, User user, String resource) {
+        // Read the epochs before deciding, so a role change that races with us leaves an already stale entry
+        long global = globalEpoch.get();
+        long perUser = userEpochs.get(epochStripe(userId));
+        DecisionKey key = new DecisionKey(userId, resource);
+
+        Decision cached = decisions.get(key);
+        if (cached != null && cached.globalEpoch == global && cached.userEpoch == perUser) {
+            hits.increment();
+            long now = clock.get();
+            if (cached.lastUsed != now) {
+                cached.lastUsed = now; // Racy on purpose: eviction only needs an approximate recency
+            }
+            return cached.allowed;
+        }
+
+        misses.increment();
+        boolean allowed = user.checkAccess();
+        Decision fresh = new Decision(allowed, global, perUser, clock.incrementAndGet());
+        if (cached != null) {
+            // The key already owns a resident slot; if it was evicted meanwhile, just don't cache this answer
+            decisions.replace(key, cached, fresh);
+        } else if (decisions.putIfAbsent(key, fresh) == null) {
+            claimSlot(key);
+        }
+        return allowed;
+    }
+
+    public void invalidateUser(String userId) {
+        // Users sharing a stripe are invalidated too; that costs them one extra miss, never a stale answer
+        userEpochs.incrementAndGet(epochStripe(userId));
+    }
+
+    public void invalidateAll() {
+        globalEpoch.incrementAndGet();
+    }
+
+    public double hitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    private static int epochStripe(String userId) {
+        int h = userId.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (EPOCH_STRIPES - 1);
+    }
+
+    private void claimSlot(DecisionKey key) {
+        if (filledSlots.get() < residents.length()) {
+            int slot = filledSlots.getAndIncrement();
+            if (slot < residents.length() && residents.compareAndSet(slot, null, key)) {
+                return;
+            }
+        }
+        evictFor(key);
+    }
+
+    private void evictFor(DecisionKey key) {
+        // Sampled LRU: look at a few random residents and replace the one used least recently
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int victimSlot = -1;
+        DecisionKey victim = null;
+        long oldest = Long.MAX_VALUE;
+        for (int i = 0; i < EVICTION_SAMPLES; i++) {
+            int slot = random.nextInt(residents.length());
+            DecisionKey candidate = residents.get(slot);
+            if (candidate == null || candidate.equals(key)) {
+                continue;
+            }
+            Decision decision = decisions.get(candidate);
+            long lastUsed = decision == null ? Long.MIN_VALUE : decision.lastUsed;
+            if (lastUsed < oldest) {
+                oldest = lastUsed;
+                victimSlot = slot;
+                victim = candidate;
+            }
+        }
+        if (victim != null && residents.compareAndSet(victimSlot, victim, key)) {
+            decisions.remove(victim);
+        } else {
+            // Lost the race for a slot: stay within budget by not caching this decision
+            decisions.remove(key);
+        }
+    }
+
+    private static final class DecisionKey {
+        private final String userId;
+        private final String resource;
+
+        DecisionKey(String userId, String resource) {
+            this.userId = userId;
+            this.resource = resource;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof DecisionKey)) {
+                return false;
+            }
+            DecisionKey other = (DecisionKey) o;
+            return userId.equals(other.userId) && resource.equals(other.resource);
+        }
+
+        @Override
+        public int hashCode() {
+            // Sequential ids such as "user-42" and "/resource/7" differ only in their last characters, so with 31 as the
+            // multiplier a step in one is undone by a step in the other: 10,000 users x 100 resources give only 280k
+            // distinct hashes for 1M keys. The golden-ratio multiplier keeps all 1M distinct.
+            return userId.hashCode() * 0x9E3779B9 + resource.hashCode();
+        }
+    }
+
+    private static final class Decision {
+        private final boolean allowed;
+        private final long globalEpoch;
+        private final long userEpoch;
+        private long lastUsed;
+
+        Decision(boolean allowed, long globalEpoch, long userEpoch, long lastUsed) {
+            this.allowed = allowed;
+            this.globalEpoch = globalEpoch;
+            this.userEpoch = userEpoch;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
+
+/*
+    Why it is better: A role change only bumps a counter, either for one user's epoch stripe (invalidateUser) or for 
+    everyone (invalidateAll), so invalidation is O(1) no matter how many decisions are cached. Entries stamped with an 
+    old epoch are simply treated as misses and overwritten. Readers never take a lock: a hit is a map get and a few 
+    atomic reads. Memory is bounded on both sides: the epochs live in a fixed array of stripes, and the decisions fit in 
+    a fixed number of resident slots derived from the byte budget. When the slots are full, a new decision replaces the 
+    least recently used of a few randomly sampled residents, so eviction does not keep hitting the same part of the map. 
+    The cache still works with any User, because it only relies on the checkAccess() contract that RegularUser and 
+    GuestUser both honour, and hitRate() shows whether the budget is right.
+*/
+
+
+// Example 7: Reusing Started Engines
+
+// Problematic Code
+
+class EngineSimulation {
+    public void runTrip() {
+        Engine engine = new CombustionEngine();
+        engine.startEngine(); // Every trip pays for a cold start
+        // Simulate the trip
+    }
+}
+
+/*
+    Why it is problematic: Each caller constructs and starts a fresh engine, so the full cold start cost lands on the 
+    request path every time. When starting is expensive, this dominates the latency tail of the simulation.
+*/
+
+// Better Version
+
+class EnginePool<E extends Engine> {
+    private final Supplier<E> factory;
+    private final Executor refillExecutor;
+    private final ConcurrentLinkedQueue<E> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private final int minIdle;
+    private final int maxIdle;
+
+    public EnginePool(Supplier<E> factory, int minIdle, int maxIdle, Executor refillExecutor) {
+        if (minIdle < 0 || maxIdle < minIdle) {
+            throw new IllegalArgumentException("Expected 0 <= minIdle <= maxIdle but got " + minIdle + " and " + maxIdle);
+        }
+        this.factory = factory;
+        this.refillExecutor = refillExecutor;
+        this.minIdle = minIdle;
+        this.maxIdle = maxIdle;
+        // Warm start: pay for minIdle cold starts up front instead of on the request path
+        refill();
+    }
+
+    public E checkOut() {
+        E engine = idle.poll();
+        if (engine == null) {
+            scheduleRefill();
+            return startNew();
+        }
+        if (idleCount.decrementAndGet() < minIdle) {
+            scheduleRefill();
+        }
+        return engine;
+    }
+
+    public void checkIn(E engine) {
+        // Reserve an idle slot first; if the pool is already full, let the engine be collected
+        if (idleCount.incrementAndGet() > maxIdle) {
+            idleCount.decrementAndGet();
+            return;
+        }
+        idle.offer(engine);
+    }
+
+    private void scheduleRefill() {
+        // At most one refill in flight, so a burst of check-outs does not queue a start per call
+        if (refilling.compareAndSet(false, true)) {
+            refillExecutor.execute(() -> {
+                try {
+                    refill();
+                } finally {
+                    refilling.set(false);
+                }
+            });
+        }
+    }
+
+    private void refill() {
+        while (idleCount.get() < minIdle) {
+            E engine = startNew();
+            // Reserve the slot the same way checkIn() does, so a concurrent check-in cannot push the pool past maxIdle
+            if (idleCount.incrementAndGet() > maxIdle) {
+                idleCount.decrementAndGet();
+                return;
+            }
+            idle.offer(engine);
+        }
+    }
+
+    private E startNew() {
+        E engine = factory.get();
+        engine.startEngine();
+        return engine;
+    }
+}
+
+class EngineSimulation {
+    private final EnginePool<CombustionEngine> combustionEngines;
+
+    // The caller owns the refill executor and shuts it down, so the simulation never keeps the JVM alive on its own
+    public EngineSimulation(Executor refillExecutor) {
+        this.combustionEngines = new EnginePool<>(CombustionEngine::new, 8, 64, refillExecutor);
+    }
+
+    public void runTrip() {
+        CombustionEngine engine = combustionEngines.checkOut();
+        try {
+            // Simulate the trip
+        } finally {
+            combustionEngines.checkIn(engine);
+        }
+    }
+}
+
+/*
+    Why it is better: EnginePool keeps one pool per implementation type, each pre-started with minIdle engines and 
+    capped at maxIdle. Check-out and check-in are a lock-free queue operation plus an atomic counter, so callers never 
+    wait on each other. When a check-out leaves fewer than minIdle engines idle, the pool starts replacements on a 
+    background executor, so the minimum keeps holding after the warm-up and a cold start only lands on the request path 
+    when demand outruns the refill. Pooling still respects LSP: every engine handed out has gone through its own 
+    startEngine(), so a pooled CombustionEngine or ElectricEngine is as substitutable for Engine as a freshly started 
+    one. EngineStartBenchmark (benchmarks/ module) gives its engine a modeled start cost and uses SampleTime mode, so 
+    JMH reports the full latency distribution (p50, p99, p99.9) of cold versus pooled starts rather than just an 
+    average.
+*/
+
+
+// Example 8: Querying Bird Capabilities at Scale
+
+// Problematic Code
+
+class Flock {
+    private final List<Bird> birds = new ArrayList<>();
+
+    public int countFlyingBirds() {
+        int count = 0;
+        for (Bird bird : birds) {
+            if (bird instanceof FlyingBird) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public void flyAll() {
+        for (Bird bird : birds) {
+            if (bird instanceof FlyingBird) {
+                ((FlyingBird) bird).fly();
+            }
+        }
+    }
+}
+
+/*
+    Why it is problematic: The split between Bird and FlyingBird is right, but every question about capabilities walks the 
+    whole object graph and type-checks each bird. With tens of millions of birds that is a pointer chase and an instanceof 
+    per bird per query, repeated for answers that never change once a bird exists.
+*/
+
+// Better Version
+
+class BirdRegistry {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int INITIAL_MEMBER_CAPACITY = 16;
+
+    private final Class<?>[] capabilities;
+    private final long[][] capabilityBits;
+    // One densely packed array per capability, holding only the birds that have it
+    private final Object[][] members;
+    private final int[] memberCounts;
+    private Bird[] birds = new Bird[INITIAL_CAPACITY];
+    private int size;
+
+    public BirdRegistry(Class<?>... capabilities) {
+        this.capabilities = capabilities.clone();
+        this.capabilityBits = new long[capabilities.length][INITIAL_CAPACITY >>> 6];
+        this.members = new Object[capabilities.length][INITIAL_MEMBER_CAPACITY];
+        this.memberCounts = new int[capabilities.length];
+    }
+
+    public int register(Bird bird) {
+        ensureCapacity(size + 1);
+        int id = size++;
+        birds[id] = bird;
+        // The only type checks happen here, once per bird and capability
+        for (int c = 0; c < capabilities.length; c++) {
+            if (capabilities[c].isInstance(bird)) {
+                capabilityBits[c][id >>> 6] |= 1L << id;
+                addMember(c, bird);
+            }
+        }
+        return id;
+    }
+
+    public Bird get(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("No bird with id " + id);
+        }
+        return birds[id];
+    }
+
+    public int count(Class<?> capability) {
+        return memberCounts[indexOf(capability)];
+    }
+
+    public int countWithAll(Class<?> first, Class<?> second) {
+        long[] a = capabilityBits[indexOf(first)];
+        long[] b = capabilityBits[indexOf(second)];
+        int count = 0;
+        for (int i = 0; i < a.length; i++) {
+            count += Long.bitCount(a[i] & b[i]);
+        }
+        return count;
+    }
+
+    public int[] idsWith(Class<?> capability) {
+        int c = indexOf(capability);
+        long[] bits = capabilityBits[c];
+        int[] ids = new int[memberCounts[c]];
+        int n = 0;
+        for (int w = 0; w < bits.length; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                ids[n++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return ids;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <C> void forEach(Class<C> capability, Consumer<? super C> action) {
+        int c = indexOf(capability);
+        Object[] dense = members[c];
+        int count = memberCounts[c];
+        for (int i = 0; i < count; i++) {
+            action.accept((C) dense[i]);
+        }
+    }
+
+    public void flyAll() {
+        forEach(FlyingBird.class, FlyingBird::fly);
+    }
+
+    private void addMember(int c, Bird bird) {
+        if (memberCounts[c] == members[c].length) {
+            members[c] = Arrays.copyOf(members[c], members[c].length * 2);
+        }
+        members[c][memberCounts[c]++] = bird;
+    }
+
+    private int indexOf(Class<?> capability) {
+        for (int c = 0; c < capabilities.length; c++) {
+            if (capabilities[c] == capability) {
+                return c;
+            }
+        }
+        throw new IllegalArgumentException(capability.getName() + " is not an indexed capability");
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= birds.length) {
+            return;
+        }
+        int newCapacity = Math.max(required, birds.length * 2);
+        birds = Arrays.copyOf(birds, newCapacity);
+        for (int c = 0; c < capabilityBits.length; c++) {
+            capabilityBits[c] = Arrays.copyOf(capabilityBits[c], (newCapacity + 63) >>> 6);
+        }
+    }
+}
+
+// Usage: new BirdRegistry(FlyingBird.class) today, new BirdRegistry(FlyingBird.class, SwimmingBird.class) tomorrow,
+// with registry.forEach(SwimmingBird.class, SwimmingBird::swim) as the bulk dispatch for the new capability
+
+/*
+    Why it is better: BirdRegistry stores the flock as parallel arrays instead of a graph of objects. Each capability 
+    interface passed to the constructor gets a bitmap and a densely packed member array, both filled in once when a bird 
+    is registered. Member arrays grow with the number of birds that actually have the capability, not with the whole 
+    flock. "How many birds can fly" is a stored count, combined queries are a bitwise AND of two bitmaps, and id lookups 
+    walk the set bits: plain loops over primitive arrays that the JIT can unroll and vectorize. Bulk dispatch through 
+    forEach() walks one member array with no instanceof at all, and works the same way for FlyingBird and for any 
+    capability added later; flyAll() is just that for FlyingBird. The fly() calls themselves are still interface calls, 
+    since each bird decides how it flies, but the scan that finds them is gone. Ostrich is never asked to fly because it 
+    is never a member of the FlyingBird array, which keeps the LSP split intact.
+*/
+
+
+// Example 9: Processing Mixed Payments in Bulk
+
+// Problematic Code
+
+class PaymentRunner {
+    public void processAll(List<Payment> payments) {
+        for (Payment payment : payments) {
+            payment.processPayment(); // One call site sees every Payment type
+        }
+    }
+}
+
+/*
+    Why it is problematic: Substitutability means any Payment can appear in the list, so this single call site sees every 
+    implementation. Once more than two types show up the JIT gives up inlining it, and every FreeTrialPayment still pays 
+    for a full virtual call that does nothing.
+*/
+
+// Better Version
+
+// Contract: processPayment() on a NoOpPayment has no observable effect, so skipping the call is equivalent to making it.
+// FreeTrialPayment does not qualify, because it logs the trial activation.
+interface NoOpPayment extends Payment {}
+
+class WaivedPayment implements NoOpPayment {
+    @Override
+    public void processPayment() {
+        // Fee waived: nothing to charge and nothing to record
+    }
+}
+
+class PaymentBatch {
+    interface PartitionLoop<T extends Payment> {
+        void processAll(List<T> payments);
+    }
+
+    // Shared by every type without a registered loop, so this call site can still see many receiver types
+    private static final PartitionLoop<Payment> GENERIC_LOOP = payments -> {
+        for (Payment payment : payments) {
+            payment.processPayment();
+        }
+    };
+
+    private final Map<Class<? extends Payment>, List<Payment>> partitions = new LinkedHashMap<>();
+    private final Map<Class<? extends Payment>, PartitionLoop<?>> loops = new HashMap<>();
+    private int skipped;
+
+    public PaymentBatch(List<? extends Payment> payments) {
+        for (Payment payment : payments) {
+            if (payment instanceof NoOpPayment) {
+                skipped++;
+                continue;
+            }
+            partitions.computeIfAbsent(payment.getClass(), type -> new ArrayList<>()).add(payment);
+        }
+    }
+
+    public <T extends Payment> PaymentBatch withLoop(Class<T> type, PartitionLoop<T> loop) {
+        loops.put(type, loop);
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void processAll() {
+        for (Map.Entry<Class<? extends Payment>, List<Payment>> partition : partitions.entrySet()) {
+            PartitionLoop<Payment> loop = (PartitionLoop<Payment>) loops.getOrDefault(partition.getKey(), GENERIC_LOOP);
+            loop.processAll(partition.getValue());
+        }
+    }
+
+    public int skippedCount() {
+        return skipped;
+    }
+}
+
+// Usage: each registered loop has its own call site, so the JIT sees exactly one receiver type there
+
+// new PaymentBatch(payments)
+//     .withLoop(CreditCardPayment.class, cards -> {
+//         for (CreditCardPayment card : cards) {
+//             card.processPayment();
+//         }
+//     })
+//     .withLoop(FreeTrialPayment.class, trials -> {
+//         for (FreeTrialPayment trial : trials) {
+//             trial.processPayment();
+//         }
+//     })
+//     .processAll();
+
+/*
+    Why it is better: PaymentBatch partitions the mixed list by concrete type once, then runs each partition in its own 
+    loop. A type registered with withLoop() gets a loop whose only receiver is that type, so the call is monomorphic and 
+    can be inlined. Unregistered types fall back to one shared generic loop, which is no better than the naive loop, so 
+    hot types should always be registered. Payments that implement NoOpPayment are dropped during partitioning with one 
+    type check instead of a virtual call each time the batch runs. The marker is a promise that the call does nothing 
+    observable: FreeTrialPayment keeps logging its activation and is processed like any other payment. The Payment 
+    contract itself is unchanged, so every implementation stays substitutable. PaymentBatchBenchmark (benchmarks/ 
+    module) compares the batch with the naive loop over four payment types that do real work, with and without waived 
+    payments mixed in; partitioning happens in setup because it is paid once per batch, not once per run.
+*/
@@ -0,0 +1,92 @@
+#!/usr/bin/env python3
+"""Compares JMH JSON results against a stored baseline and flags regressions.
+
+Usage: compare.py BASELINE CURRENT [--threshold 0.10]
+
+BASELINE and CURRENT are either two JMH JSON files or two directories; for directories, files with the same
+name are compared (run-benchmarks.sh writes one file per thread count). A result regresses when it is worse
+than the baseline by more than the threshold and by more than the two error bars combined. Throughput modes
+are better when higher, time modes when lower. A baseline result with no counterpart in CURRENT, or a missing
+file, counts as a regression, so compare a full run or a baseline made with the same filter. Exits with status 1
+if anything regressed.
+"""
+import argparse
+import json
+import os
+import sys
+
+HIGHER_IS_BETTER = {"thrpt"}
+
+
+def load(path):
+    with open(path) as f:
+        runs = json.load(f)
+    results = {}
+    for run in runs:
+        params = ",".join("%s=%s" % item for item in sorted((run.get("params") or {}).items()))
+        key = (run["benchmark"], run["mode"], run["threads"], params)
+        metric = run["primaryMetric"]
+        error = metric.get("scoreError")
+        results[key] = (metric["score"], error if isinstance(error, (int, float)) else 0.0, metric["scoreUnit"])
+    return results
+
+
+def pairs(baseline, current):
+    if os.path.isdir(baseline) and os.path.isdir(current):
+        for name in sorted(os.listdir(baseline)):
+            if name.endswith(".json"):
+                yield os.path.join(baseline, name), os.path.join(current, name)
+    else:
+        yield baseline, current
+
+
+def describe(key):
+    benchmark, mode, threads, params = key
+    label = "%s [%s, %d thread%s]" % (benchmark.rsplit(".", 2)[-2] + "." + benchmark.rsplit(".", 1)[-1],
+                                      mode, threads, "" if threads == 1 else "s")
+    return label + (" {" + params + "}" if params else "")
+
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__, formatter_class=argparse.RawDescriptionHelpFormatter)
+    parser.add_argument("baseline")
+    parser.add_argument("current")
+    parser.add_argument("--threshold", type=float, default=0.10, help="relative change treated as a regression")
+    args = parser.parse_args()
+
+    regressions = 0
+    for baseline_file, current_file in pairs(args.baseline, args.current):
+        if not os.path.exists(current_file):
+            print("MISSING  %s has no counterpart in %s" % (baseline_file, args.current))
+            regressions += 1
+            continue
+        baseline, current = load(baseline_file), load(current_file)
+        for key in sorted(set(baseline) | set(current)):
+            if key not in current:
+                # A deleted or renamed benchmark must not slip through the gate unnoticed
+                print("MISSING  %s" % describe(key))
+                regressions += 1
+                continue
+            if key not in baseline:
+                print("NEW      %s: %.3f %s" % (describe(key), current[key][0], current[key][2]))
+                continue
+            old, old_error, unit = baseline[key]
+            new, new_error, _ = current[key]
+            change = (new - old) / old if old else 0.0
+            worse = -change if key[1] in HIGHER_IS_BETTER else change
+            significant = abs(new - old) > old_error + new_error
+            if worse > args.threshold and significant:
+                status = "REGRESS"
+                regressions += 1
+            elif worse < -args.threshold and significant:
+                status = "IMPROVE"
+            else:
+                status = "ok"
+            print("%-8s %s: %.3f -> %.3f %s (%+.1f%%)" % (status, describe(key), old, new, unit, change * 100))
+
+    print("%d regression(s)" % regressions)
+    return 1 if regressions else 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
@@ -0,0 +1,20 @@
+#!/usr/bin/env bash
+# Builds the benchmark jar and runs the suite once per thread count, writing one JMH JSON result file per count.
+#
+# Usage: ./run-benchmarks.sh [JMH benchmark regex...]
+#   THREADS      thread counts to run, default "1 4"
+#   RESULTS_DIR  where the JSON files go, default "results"
+#   JMH_OPTS     extra JMH options, default a short fork/warmup/measurement schedule
+set -euo pipefail
+cd "$(dirname "$0")"
+
+THREADS="${THREADS:-1 4}"
+RESULTS_DIR="${RESULTS_DIR:-results}"
+JMH_OPTS="${JMH_OPTS:--f 1 -wi 3 -w 1s -i 5 -r 1s}"
+
+mvn -B -q package
+mkdir -p "$RESULTS_DIR"
+for threads in $THREADS; do
+    # shellcheck disable=SC2086
+    java -jar target/benchmarks.jar $JMH_OPTS -t "$threads" -rf json -rff "$RESULTS_DIR/jmh-threads-$threads.json" "$@"
+done
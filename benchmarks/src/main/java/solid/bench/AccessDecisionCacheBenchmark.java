@@ -0,0 +1,100 @@
+package solid.bench;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import solid.lsp.AccessDecisionCache;
+import solid.lsp.GuestUser;
+import solid.lsp.RegularUser;
+import solid.lsp.User;
+
+// Cached access checks for a population of regular and guest users, with occasional role changes.
+// 10,000 users x 100 resources is 1M uniformly random keys, about 104 MB at the cache's own estimate: the 16 MiB
+// budget holds about 16% of them and mostly measures eviction, the 128 MiB budget holds the whole working set.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AccessDecisionCacheBenchmark {
+    private static final int RESOURCES = 100;
+
+    // A miss is exactly one call to User.checkAccess(), so the users count misses and every other lookup is a hit.
+    // JMH reports both as totals (checkAccess:hits, checkAccess:misses); hit rate = hits / (hits + misses).
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Lookups {
+        public long hits;
+        public long misses;
+
+        private final User regularUser = new RegularUser();
+        private final User guestUser = new GuestUser();
+        final User regular = () -> {
+            misses++;
+            return regularUser.checkAccess();
+        };
+        final User guest = () -> {
+            misses++;
+            return guestUser.checkAccess();
+        };
+    }
+
+    @Param({"10000"})
+    private int users;
+
+    @Param({"16777216", "134217728"})
+    private long budgetBytes;
+
+    private AccessDecisionCache cache;
+    private String[] userIds;
+    private boolean[] guests;
+    private String[] resources;
+
+    @Setup
+    public void setUp() {
+        cache = new AccessDecisionCache(budgetBytes);
+        userIds = new String[users];
+        guests = new boolean[users];
+        for (int i = 0; i < users; i++) {
+            userIds[i] = "user-" + i;
+            guests[i] = i % 10 == 0;
+        }
+        resources = new String[RESOURCES];
+        for (int i = 0; i < RESOURCES; i++) {
+            resources[i] = "/resource/" + i;
+        }
+    }
+
+    @Benchmark
+    public boolean checkAccess(Lookups lookups) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return check(lookups, random.nextInt(users), resources[random.nextInt(RESOURCES)]);
+    }
+
+    @Benchmark
+    public boolean checkAccessWithRoleChanges(Lookups lookups) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int user = random.nextInt(users);
+        if (random.nextInt(1000) == 0) {
+            cache.invalidateUser(userIds[user]);
+        }
+        return check(lookups, user, resources[random.nextInt(RESOURCES)]);
+    }
+
+    private boolean check(Lookups lookups, int user, String resource) {
+        long missesBefore = lookups.misses;
+        boolean allowed = cache.checkAccess(userIds[user], guests[user] ? lookups.guest : lookups.regular, resource);
+        if (lookups.misses == missesBefore) {
+            lookups.hits++;
+        }
+        return allowed;
+    }
+}
@@ -0,0 +1,63 @@
+package solid.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import solid.ocp.AreaCalculator;
+import solid.ocp.Circle;
+import solid.ocp.Rectangle;
+import solid.ocp.Shape;
+import solid.lsp.Square;
+
+// Sums the area of a mixed list of shapes, through the OCP AreaCalculator and through the LSP Shape hierarchy
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AreaCalculatorBenchmark {
+    @Param({"100000"})
+    private int shapes;
+
+    private final AreaCalculator calculator = new AreaCalculator();
+    private Shape[] ocpShapes;
+    private solid.lsp.Shape[] lspShapes;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        ocpShapes = new Shape[shapes];
+        lspShapes = new solid.lsp.Shape[shapes];
+        for (int i = 0; i < shapes; i++) {
+            int a = 1 + random.nextInt(100);
+            int b = 1 + random.nextInt(100);
+            ocpShapes[i] = random.nextBoolean() ? new Rectangle(a, b) : new Circle(a);
+            lspShapes[i] = random.nextBoolean() ? new solid.lsp.Rectangle(a, b) : new Square(a);
+        }
+    }
+
+    @Benchmark
+    public double ocpAreaCalculator() {
+        double total = 0;
+        for (Shape shape : ocpShapes) {
+            total += calculator.calculateShapeArea(shape);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long lspShapeHierarchy() {
+        long total = 0;
+        for (solid.lsp.Shape shape : lspShapes) {
+            total += shape.getArea();
+        }
+        return total;
+    }
+}
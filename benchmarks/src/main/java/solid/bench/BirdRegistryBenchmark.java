@@ -0,0 +1,79 @@
+package solid.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import solid.lsp.Bird;
+import solid.lsp.BirdRegistry;
+import solid.lsp.Duck;
+import solid.lsp.FlyingBird;
+import solid.lsp.Ostrich;
+
+// Capability queries over a large flock: instanceof over a List<Bird> against the BirdRegistry indexes
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BirdRegistryBenchmark {
+    @Param({"1000000"})
+    private int birds;
+
+    private List<Bird> flock;
+    private BirdRegistry registry;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        flock = new ArrayList<>(birds);
+        registry = new BirdRegistry(FlyingBird.class);
+        for (int i = 0; i < birds; i++) {
+            Bird bird = random.nextInt(4) == 0 ? new Ostrich() : new Duck();
+            flock.add(bird);
+            registry.register(bird);
+        }
+    }
+
+    @Benchmark
+    public int countFlyingWithInstanceof() {
+        int count = 0;
+        for (Bird bird : flock) {
+            if (bird instanceof FlyingBird) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int countFlyingWithRegistry() {
+        // count() is a stored counter; the bitmap scan is what scales with the flock
+        return registry.countWithAll(FlyingBird.class, FlyingBird.class);
+    }
+
+    // Duck.fly() is empty, so visiting hands each flyer to a Blackhole instead; otherwise the JIT drops the loop
+
+    @Benchmark
+    public void visitFlyingWithInstanceof(Blackhole blackhole) {
+        for (Bird bird : flock) {
+            if (bird instanceof FlyingBird) {
+                blackhole.consume((FlyingBird) bird);
+            }
+        }
+    }
+
+    @Benchmark
+    public void visitFlyingWithRegistry(Blackhole blackhole) {
+        registry.forEach(FlyingBird.class, blackhole::consume);
+    }
+}
@@ -0,0 +1,97 @@
+package solid.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import solid.srp.Employee;
+import solid.srp.InMemoryEmployeeStore;
+import solid.srp.ShardedEmployeeRepository;
+
+// A single in-memory store next to the sharded repository over the same kind of store, so the difference is the
+// routing, locking and scatter-gather cost
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EmployeeRepositoryBenchmark {
+    private static final int BATCH_SIZE = 64;
+
+    @Param({"100000"})
+    private int employees;
+
+    @Param({"4", "16"})
+    private int shards;
+
+    private final InMemoryEmployeeStore singleStore = new InMemoryEmployeeStore();
+    private ExecutorService executor;
+    private ShardedEmployeeRepository sharded;
+    private Employee[] roster;
+
+    @Setup
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(Math.min(shards, Runtime.getRuntime().availableProcessors()));
+        sharded = new ShardedEmployeeRepository(Employee::getName, executor, 64);
+        for (int i = 0; i < shards; i++) {
+            sharded.addShard("shard-" + i, new InMemoryEmployeeStore());
+        }
+        roster = new Employee[employees];
+        for (int i = 0; i < employees; i++) {
+            roster[i] = new Employee("employee-" + i, "department-" + (i % 40));
+            singleStore.save(roster[i].getName(), roster[i]);
+            sharded.saveEmployee(roster[i]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public Employee singleStoreSave() {
+        Employee employee = roster[ThreadLocalRandom.current().nextInt(employees)];
+        singleStore.save(employee.getName(), employee);
+        return employee;
+    }
+
+    @Benchmark
+    public Employee singleStoreFind() {
+        return singleStore.find("employee-" + ThreadLocalRandom.current().nextInt(employees));
+    }
+
+    @Benchmark
+    public Employee shardedSave() {
+        Employee employee = roster[ThreadLocalRandom.current().nextInt(employees)];
+        sharded.saveEmployee(employee);
+        return employee;
+    }
+
+    @Benchmark
+    public Employee shardedFind() {
+        return sharded.findEmployee("employee-" + ThreadLocalRandom.current().nextInt(employees));
+    }
+
+    @Benchmark
+    public Map<String, Employee> shardedScatterGather() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<String> keys = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            keys.add("employee-" + random.nextInt(employees));
+        }
+        return sharded.findEmployees(keys);
+    }
+}
@@ -0,0 +1,59 @@
+package solid.bench;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import solid.lsp.Engine;
+import solid.lsp.EnginePool;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EngineStartBenchmark {
+    // Stands in for the real ignition sequence; without a start cost the benchmark only compares allocation with a queue
+    public static class ModeledEngine implements Engine {
+        @Override
+        public void startEngine() {
+            Blackhole.consumeCPU(2_000);
+        }
+    }
+
+    private ExecutorService refillExecutor;
+    private EnginePool<ModeledEngine> pool;
+
+    @Setup
+    public void setUp() {
+        refillExecutor = Executors.newSingleThreadExecutor();
+        pool = new EnginePool<>(ModeledEngine::new, 8, 64, refillExecutor);
+    }
+
+    @TearDown
+    public void tearDown() {
+        refillExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public Engine coldStart() {
+        Engine engine = new ModeledEngine();
+        engine.startEngine();
+        return engine;
+    }
+
+    @Benchmark
+    public Engine pooledStart() {
+        ModeledEngine engine = pool.checkOut();
+        pool.checkIn(engine);
+        return engine;
+    }
+}
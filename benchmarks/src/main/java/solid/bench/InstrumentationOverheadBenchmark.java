@@ -0,0 +1,42 @@
+package solid.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import solid.ocp.DiscountStrategy;
+import solid.ocp.MetricsRegistry;
+import solid.ocp.PercentageDiscountStrategy;
+import solid.ocp.TimedDiscountStrategy;
+
+// Both methods always run at the same thread count; run-benchmarks.sh repeats the suite for several counts
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InstrumentationOverheadBenchmark {
+    private final MetricsRegistry registry = new MetricsRegistry();
+    private final DiscountStrategy plain = new PercentageDiscountStrategy();
+    private final DiscountStrategy timed = new TimedDiscountStrategy(new PercentageDiscountStrategy(), registry);
+    private double amount = 100.0;
+
+    @Benchmark
+    public double plainStrategy() {
+        return plain.applyDiscount(amount);
+    }
+
+    @Benchmark
+    public double timedStrategy() {
+        return timed.applyDiscount(amount);
+    }
+
+    @TearDown
+    public void tearDown() {
+        registry.close();
+    }
+}
@@ -0,0 +1,102 @@
+package solid.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import solid.lsp.Payment;
+import solid.lsp.PaymentBatch;
+import solid.lsp.PaymentRunner;
+import solid.lsp.WaivedPayment;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PaymentBatchBenchmark {
+    // Four payment types with real work, so the naive call site is megamorphic and the calls cannot be optimized away
+
+    static final class CardPayment implements Payment {
+        final double amount;
+        double settled;
+        CardPayment(double amount) { this.amount = amount; }
+        @Override
+        public void processPayment() { settled = amount - (amount * 0.029 + 0.30); }
+    }
+
+    static final class BankTransferPayment implements Payment {
+        final double amount;
+        double settled;
+        BankTransferPayment(double amount) { this.amount = amount; }
+        @Override
+        public void processPayment() { settled = amount - Math.min(5.0, amount * 0.01); }
+    }
+
+    static final class WalletPayment implements Payment {
+        final double amount;
+        long settledCents;
+        WalletPayment(double amount) { this.amount = amount; }
+        @Override
+        public void processPayment() { settledCents = Math.round(amount * 100) - 25; }
+    }
+
+    // Starts from a time fixed in setUp(), because reading the clock per payment would cost more than the dispatch
+    static final class TrialPayment implements Payment {
+        final int trialDays;
+        final long startMillis;
+        long activatedUntil;
+        TrialPayment(int trialDays, long startMillis) { this.trialDays = trialDays; this.startMillis = startMillis; }
+        @Override
+        public void processPayment() { activatedUntil = startMillis + trialDays * 86_400_000L; }
+    }
+
+    @Param({"0.0", "0.3"})
+    private double waivedRatio;
+
+    private List<Payment> payments;
+    private PaymentBatch batch;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        long startMillis = System.currentTimeMillis();
+        payments = new ArrayList<>();
+        for (int i = 0; i < 1_000_000; i++) {
+            double amount = 10 + random.nextDouble() * 490;
+            if (random.nextDouble() < waivedRatio) {
+                payments.add(new WaivedPayment());
+                continue;
+            }
+            switch (random.nextInt(4)) {
+                case 0: payments.add(new CardPayment(amount)); break;
+                case 1: payments.add(new BankTransferPayment(amount)); break;
+                case 2: payments.add(new WalletPayment(amount)); break;
+                default: payments.add(new TrialPayment(14 + random.nextInt(17), startMillis)); break;
+            }
+        }
+        batch = new PaymentBatch(payments)
+                .withLoop(CardPayment.class, cards -> { for (CardPayment p : cards) p.processPayment(); })
+                .withLoop(BankTransferPayment.class, transfers -> { for (BankTransferPayment p : transfers) p.processPayment(); })
+                .withLoop(WalletPayment.class, wallets -> { for (WalletPayment p : wallets) p.processPayment(); })
+                .withLoop(TrialPayment.class, trials -> { for (TrialPayment p : trials) p.processPayment(); });
+    }
+
+    @Benchmark
+    public void naiveLoop() {
+        new PaymentRunner().processAll(payments);
+    }
+
+    @Benchmark
+    public void partitionedBatch() {
+        batch.processAll();
+    }
+}
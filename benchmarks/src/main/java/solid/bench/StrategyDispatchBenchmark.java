@@ -0,0 +1,145 @@
+package solid.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import solid.ocp.DiscountCalculator;
+import solid.ocp.DiscountStrategy;
+import solid.ocp.FixedDiscountStrategy;
+import solid.ocp.LogStrategy;
+import solid.ocp.Logger;
+import solid.ocp.NotificationChannel;
+import solid.ocp.NotificationService;
+import solid.ocp.PaymentMethod;
+import solid.ocp.PaymentProcessor;
+import solid.ocp.PercentageDiscountStrategy;
+
+// Drives DiscountCalculator, Logger, PaymentProcessor and NotificationService over a batch of mixed strategies
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StrategyDispatchBenchmark {
+    // The lecture's log, payment and notification strategies have empty bodies, which the JIT removes along with the
+    // loop around them. These stand-ins do in-memory work instead, and their state is consumed after each batch.
+
+    static final class BufferedLogStrategy implements LogStrategy {
+        final StringBuilder buffer = new StringBuilder();
+        @Override
+        public void log(String message) {
+            if (buffer.length() > 65_536) {
+                buffer.setLength(0); // "Flush" to keep the buffer bounded
+            }
+            buffer.append(message).append('\n');
+        }
+    }
+
+    static final class CardPaymentMethod implements PaymentMethod {
+        double settled;
+        @Override
+        public void processPayment(double amount) { settled += amount - (amount * 0.029 + 0.30); }
+    }
+
+    static final class WalletPaymentMethod implements PaymentMethod {
+        long settledCents;
+        @Override
+        public void processPayment(double amount) { settledCents += Math.round(amount * 100) - 25; }
+    }
+
+    static final class EmailChannel implements NotificationChannel {
+        final StringBuilder outbox = new StringBuilder();
+        @Override
+        public void sendNotification(String message) {
+            if (outbox.length() > 65_536) {
+                outbox.setLength(0);
+            }
+            outbox.append("Subject: Order update\n\n").append(message).append('\n');
+        }
+    }
+
+    static final class SmsChannel implements NotificationChannel {
+        int segments;
+        @Override
+        public void sendNotification(String message) { segments += (message.length() + 159) / 160; }
+    }
+
+    @Param({"100000"})
+    private int calls;
+
+    private final DiscountCalculator discountCalculator = new DiscountCalculator();
+    private final BufferedLogStrategy logStrategy = new BufferedLogStrategy();
+    private final Logger logger = new Logger(logStrategy);
+    private final CardPaymentMethod card = new CardPaymentMethod();
+    private final WalletPaymentMethod wallet = new WalletPaymentMethod();
+    private final EmailChannel email = new EmailChannel();
+    private final SmsChannel sms = new SmsChannel();
+    private final PaymentProcessor paymentProcessor = new PaymentProcessor();
+    private final NotificationService notificationService = new NotificationService();
+
+    private double[] amounts;
+    private String[] messages;
+    private DiscountStrategy[] discounts;
+    private PaymentMethod[] paymentMethods;
+    private NotificationChannel[] channels;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        amounts = new double[calls];
+        messages = new String[calls];
+        discounts = new DiscountStrategy[calls];
+        paymentMethods = new PaymentMethod[calls];
+        channels = new NotificationChannel[calls];
+        for (int i = 0; i < calls; i++) {
+            amounts[i] = 50 + random.nextDouble() * 950;
+            messages[i] = "order-" + i + " shipped";
+            discounts[i] = random.nextBoolean() ? new FixedDiscountStrategy() : new PercentageDiscountStrategy();
+            paymentMethods[i] = random.nextBoolean() ? card : wallet;
+            channels[i] = random.nextBoolean() ? email : sms;
+        }
+    }
+
+    @Benchmark
+    public double discountCalculator() {
+        double total = 0;
+        for (int i = 0; i < calls; i++) {
+            total += discountCalculator.calculateDiscount(discounts[i], amounts[i]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public void logger(Blackhole blackhole) {
+        for (int i = 0; i < calls; i++) {
+            logger.log(messages[i]);
+        }
+        blackhole.consume(logStrategy.buffer.length());
+    }
+
+    @Benchmark
+    public void paymentProcessor(Blackhole blackhole) {
+        for (int i = 0; i < calls; i++) {
+            paymentProcessor.processPayment(paymentMethods[i], amounts[i]);
+        }
+        blackhole.consume(card.settled);
+        blackhole.consume(wallet.settledCents);
+    }
+
+    @Benchmark
+    public void notificationService(Blackhole blackhole) {
+        for (int i = 0; i < calls; i++) {
+            notificationService.sendNotification(channels[i], messages[i]);
+        }
+        blackhole.consume(email.outbox.length());
+        blackhole.consume(sms.segments);
+    }
+}
@@ -0,0 +1,130 @@
+package solid.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import solid.ocp.StrategyIndexProcessor;
+
+/*
+ * Cold start cost of finding one DiscountStrategy among 10 and among 1000 implementations, comparing eager
+ * ServiceLoader discovery with the compile-time index of StrategyRegistry.
+ *
+ * For each size it generates and compiles the strategies once (running StrategyIndexProcessor and writing a
+ * META-INF/services file), then starts a fresh JVM per run and reports the median time to the first lookup and
+ * the median wall time of the whole process.
+ *
+ * Usage: java -cp target/classes solid.bench.StrategyStartupMeasurement [runs] [sizes...]
+ */
+public class StrategyStartupMeasurement {
+    private static final String[] VARIANTS = {"serviceloader", "index"};
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int[] sizes = args.length > 1
+                ? Arrays.stream(args, 1, args.length).mapToInt(Integer::parseInt).toArray()
+                : new int[] {10, 1000};
+        String moduleClasses = Paths.get(StrategyIndexProcessor.class.getProtectionDomain()
+                .getCodeSource().getLocation().toURI()).toString();
+
+        System.out.printf("%-8s %-14s %22s %22s%n", "size", "variant", "first lookup (median)", "process wall (median)");
+        for (int size : sizes) {
+            Path root = Files.createTempDirectory("strategies-" + size);
+            try {
+                String classPath = moduleClasses + java.io.File.pathSeparator + generate(root, size, moduleClasses);
+                for (String variant : VARIANTS) {
+                    List<Long> lookups = new ArrayList<>();
+                    List<Long> walls = new ArrayList<>();
+                    for (int run = 0; run < runs; run++) {
+                        long start = System.nanoTime();
+                        lookups.add(probe(classPath, variant, "GeneratedStrategy" + (size - 1), "key-" + (size - 1)));
+                        walls.add(System.nanoTime() - start);
+                    }
+                    System.out.printf("%-8d %-14s %19.2f ms %19.2f ms%n",
+                            size, variant, median(lookups) / 1e6, median(walls) / 1e6);
+                }
+            } finally {
+                deleteRecursively(root);
+            }
+        }
+    }
+
+    private static Path generate(Path root, int size, String moduleClasses) throws IOException {
+        Path sources = Files.createDirectories(root.resolve("src/generated"));
+        Path classes = Files.createDirectories(root.resolve("classes"));
+        List<String> files = new ArrayList<>();
+        List<String> serviceLines = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            String name = "GeneratedStrategy" + i;
+            Path source = sources.resolve(name + ".java");
+            Files.write(source, Arrays.asList(
+                    "package generated;",
+                    "@solid.ocp.StrategyKey(\"key-" + i + "\")",
+                    "public class " + name + " implements solid.ocp.DiscountStrategy {",
+                    "    public double applyDiscount(double amount) {",
+                    "        return amount - " + i + " * 0.01;",
+                    "    }",
+                    "}"), StandardCharsets.UTF_8);
+            files.add(source.toString());
+            serviceLines.add("generated." + name);
+        }
+        Path services = Files.createDirectories(classes.resolve("META-INF/services"));
+        Files.write(services.resolve("solid.ocp.DiscountStrategy"), serviceLines, StandardCharsets.UTF_8);
+
+        List<String> options = new ArrayList<>(Arrays.asList(
+                "-d", classes.toString(), "-classpath", moduleClasses,
+                "-processorpath", moduleClasses, "-processor", StrategyIndexProcessor.class.getName()));
+        options.addAll(files);
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler.run(null, null, null, options.toArray(new String[0])) != 0) {
+            throw new IllegalStateException("Could not compile " + size + " generated strategies");
+        }
+        return classes;
+    }
+
+    private static long probe(String classPath, String variant, String className, String key) throws Exception {
+        String lookup = variant.equals("serviceloader") ? className : key;
+        Process process = new ProcessBuilder(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", classPath, StrategyStartupProbe.class.getName(), variant, lookup)
+                .redirectErrorStream(true)
+                .start();
+        String output;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            output = reader.readLine();
+        }
+        if (process.waitFor() != 0 || output == null) {
+            throw new IllegalStateException("Probe failed for " + variant + ": " + output);
+        }
+        return Long.parseLong(output.trim());
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            // Children sort after their parents, so reverse order deletes files before their directories
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+}
@@ -0,0 +1,35 @@
+package solid.bench;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import solid.ocp.DiscountStrategy;
+import solid.ocp.StrategyRegistry;
+
+// Runs in a fresh JVM started by StrategyStartupMeasurement and prints how long the first strategy lookup took
+public class StrategyStartupProbe {
+    public static void main(String[] args) {
+        String variant = args[0];
+        String key = args[1];
+        long start = System.nanoTime();
+        DiscountStrategy strategy;
+        if (variant.equals("serviceloader")) {
+            // The eager discovery from the "Problematic Code" of OCP Example 7
+            Map<String, DiscountStrategy> strategies = new HashMap<>();
+            for (DiscountStrategy candidate : ServiceLoader.load(DiscountStrategy.class)) {
+                strategies.put(candidate.getClass().getSimpleName(), candidate);
+            }
+            strategy = strategies.get(key);
+        } else if (variant.equals("index")) {
+            strategy = new StrategyRegistry<>(DiscountStrategy.class, StrategyStartupProbe.class.getClassLoader()).get(key);
+        } else {
+            throw new IllegalArgumentException("Unknown variant " + variant);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (strategy == null) {
+            throw new IllegalStateException("No strategy found for " + key);
+        }
+        System.out.println(elapsed);
+    }
+}
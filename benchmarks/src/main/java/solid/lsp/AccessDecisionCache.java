@@ -0,0 +1,158 @@
+package solid.lsp;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class AccessDecisionCache {
+    // Rough footprint of one entry: the key, the decision, the map node that holds them and its resident slot
+    private static final int ESTIMATED_BYTES_PER_ENTRY = 104;
+    // Fixed number of per-user epoch stripes, so epochs cost the same memory no matter how many users show up
+    private static final int EPOCH_STRIPES = 4096;
+    private static final int EVICTION_SAMPLES = 5;
+
+    private final ConcurrentHashMap<DecisionKey, Decision> decisions = new ConcurrentHashMap<>();
+    private final AtomicLongArray userEpochs = new AtomicLongArray(EPOCH_STRIPES);
+    private final AtomicLong globalEpoch = new AtomicLong();
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicReferenceArray<DecisionKey> residents;
+    private final AtomicInteger filledSlots = new AtomicInteger();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public AccessDecisionCache(long maxBytes) {
+        this.residents = new AtomicReferenceArray<>(
+                (int) Math.max(1, Math.min(Integer.MAX_VALUE - 8, maxBytes / ESTIMATED_BYTES_PER_ENTRY)));
+    }
+
+    public boolean checkAccess(String userId, User user, String resource) {
+        // Read the epochs before deciding, so a role change that races with us leaves an already stale entry
+        long global = globalEpoch.get();
+        long perUser = userEpochs.get(epochStripe(userId));
+        DecisionKey key = new DecisionKey(userId, resource);
+
+        Decision cached = decisions.get(key);
+        if (cached != null && cached.globalEpoch == global && cached.userEpoch == perUser) {
+            hits.increment();
+            long now = clock.get();
+            if (cached.lastUsed != now) {
+                cached.lastUsed = now; // Racy on purpose: eviction only needs an approximate recency
+            }
+            return cached.allowed;
+        }
+
+        misses.increment();
+        boolean allowed = user.checkAccess();
+        Decision fresh = new Decision(allowed, global, perUser, clock.incrementAndGet());
+        if (cached != null) {
+            // The key already owns a resident slot; if it was evicted meanwhile, just don't cache this answer
+            decisions.replace(key, cached, fresh);
+        } else if (decisions.putIfAbsent(key, fresh) == null) {
+            claimSlot(key);
+        }
+        return allowed;
+    }
+
+    public void invalidateUser(String userId) {
+        // Users sharing a stripe are invalidated too; that costs them one extra miss, never a stale answer
+        userEpochs.incrementAndGet(epochStripe(userId));
+    }
+
+    public void invalidateAll() {
+        globalEpoch.incrementAndGet();
+    }
+
+    public double hitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    private static int epochStripe(String userId) {
+        int h = userId.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (EPOCH_STRIPES - 1);
+    }
+
+    private void claimSlot(DecisionKey key) {
+        if (filledSlots.get() < residents.length()) {
+            int slot = filledSlots.getAndIncrement();
+            if (slot < residents.length() && residents.compareAndSet(slot, null, key)) {
+                return;
+            }
+        }
+        evictFor(key);
+    }
+
+    private void evictFor(DecisionKey key) {
+        // Sampled LRU: look at a few random residents and replace the one used least recently
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int victimSlot = -1;
+        DecisionKey victim = null;
+        long oldest = Long.MAX_VALUE;
+        for (int i = 0; i < EVICTION_SAMPLES; i++) {
+            int slot = random.nextInt(residents.length());
+            DecisionKey candidate = residents.get(slot);
+            if (candidate == null || candidate.equals(key)) {
+                continue;
+            }
+            Decision decision = decisions.get(candidate);
+            long lastUsed = decision == null ? Long.MIN_VALUE : decision.lastUsed;
+            if (lastUsed < oldest) {
+                oldest = lastUsed;
+                victimSlot = slot;
+                victim = candidate;
+            }
+        }
+        if (victim != null && residents.compareAndSet(victimSlot, victim, key)) {
+            decisions.remove(victim);
+        } else {
+            // Lost the race for a slot: stay within budget by not caching this decision
+            decisions.remove(key);
+        }
+    }
+
+    private static final class DecisionKey {
+        private final String userId;
+        private final String resource;
+
+        DecisionKey(String userId, String resource) {
+            this.userId = userId;
+            this.resource = resource;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof DecisionKey)) {
+                return false;
+            }
+            DecisionKey other = (DecisionKey) o;
+            return userId.equals(other.userId) && resource.equals(other.resource);
+        }
+
+        @Override
+        public int hashCode() {
+            // Sequential ids such as "user-42" and "/resource/7" differ only in their last characters, so with 31 as the
+            // multiplier a step in one is undone by a step in the other: 10,000 users x 100 resources give only 280k
+            // distinct hashes for 1M keys. The golden-ratio multiplier keeps all 1M distinct.
+            return userId.hashCode() * 0x9E3779B9 + resource.hashCode();
+        }
+    }
+
+    private static final class Decision {
+        private final boolean allowed;
+        private final long globalEpoch;
+        private final long userEpoch;
+        private long lastUsed;
+
+        Decision(boolean allowed, long globalEpoch, long userEpoch, long lastUsed) {
+            this.allowed = allowed;
+            this.globalEpoch = globalEpoch;
+            this.userEpoch = userEpoch;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
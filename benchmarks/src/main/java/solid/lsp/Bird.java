@@ -0,0 +1,3 @@
+package solid.lsp;
+
+public interface Bird {}
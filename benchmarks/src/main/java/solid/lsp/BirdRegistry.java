@@ -0,0 +1,115 @@
+package solid.lsp;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+public class BirdRegistry {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int INITIAL_MEMBER_CAPACITY = 16;
+
+    private final Class<?>[] capabilities;
+    private final long[][] capabilityBits;
+    // One densely packed array per capability, holding only the birds that have it
+    private final Object[][] members;
+    private final int[] memberCounts;
+    private Bird[] birds = new Bird[INITIAL_CAPACITY];
+    private int size;
+
+    public BirdRegistry(Class<?>... capabilities) {
+        this.capabilities = capabilities.clone();
+        this.capabilityBits = new long[capabilities.length][INITIAL_CAPACITY >>> 6];
+        this.members = new Object[capabilities.length][INITIAL_MEMBER_CAPACITY];
+        this.memberCounts = new int[capabilities.length];
+    }
+
+    public int register(Bird bird) {
+        ensureCapacity(size + 1);
+        int id = size++;
+        birds[id] = bird;
+        // The only type checks happen here, once per bird and capability
+        for (int c = 0; c < capabilities.length; c++) {
+            if (capabilities[c].isInstance(bird)) {
+                capabilityBits[c][id >>> 6] |= 1L << id;
+                addMember(c, bird);
+            }
+        }
+        return id;
+    }
+
+    public Bird get(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("No bird with id " + id);
+        }
+        return birds[id];
+    }
+
+    public int count(Class<?> capability) {
+        return memberCounts[indexOf(capability)];
+    }
+
+    public int countWithAll(Class<?> first, Class<?> second) {
+        long[] a = capabilityBits[indexOf(first)];
+        long[] b = capabilityBits[indexOf(second)];
+        int count = 0;
+        for (int i = 0; i < a.length; i++) {
+            count += Long.bitCount(a[i] & b[i]);
+        }
+        return count;
+    }
+
+    public int[] idsWith(Class<?> capability) {
+        int c = indexOf(capability);
+        long[] bits = capabilityBits[c];
+        int[] ids = new int[memberCounts[c]];
+        int n = 0;
+        for (int w = 0; w < bits.length; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                ids[n++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return ids;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <C> void forEach(Class<C> capability, Consumer<? super C> action) {
+        int c = indexOf(capability);
+        Object[] dense = members[c];
+        int count = memberCounts[c];
+        for (int i = 0; i < count; i++) {
+            action.accept((C) dense[i]);
+        }
+    }
+
+    public void flyAll() {
+        forEach(FlyingBird.class, FlyingBird::fly);
+    }
+
+    private void addMember(int c, Bird bird) {
+        if (memberCounts[c] == members[c].length) {
+            members[c] = Arrays.copyOf(members[c], members[c].length * 2);
+        }
+        members[c][memberCounts[c]++] = bird;
+    }
+
+    private int indexOf(Class<?> capability) {
+        for (int c = 0; c < capabilities.length; c++) {
+            if (capabilities[c] == capability) {
+                return c;
+            }
+        }
+        throw new IllegalArgumentException(capability.getName() + " is not an indexed capability");
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= birds.length) {
+            return;
+        }
+        int newCapacity = Math.max(required, birds.length * 2);
+        birds = Arrays.copyOf(birds, newCapacity);
+        for (int c = 0; c < capabilityBits.length; c++) {
+            capabilityBits[c] = Arrays.copyOf(capabilityBits[c], (newCapacity + 63) >>> 6);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package solid.lsp;
+
+public class CombustionEngine implements Engine {
+    @Override
+    public void startEngine() {
+        // Start combustion engine
+    }
+}
@@ -0,0 +1,8 @@
+package solid.lsp;
+
+public class CreditCardPayment implements Payment {
+    @Override
+    public void processPayment() {
+        // Process credit card payment
+    }
+}
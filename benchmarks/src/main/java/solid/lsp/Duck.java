@@ -0,0 +1,6 @@
+package solid.lsp;
+
+public class Duck implements Bird, FlyingBird {
+    @Override
+    public void fly() {}
+}
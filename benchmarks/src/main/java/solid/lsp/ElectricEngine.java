@@ -0,0 +1,8 @@
+package solid.lsp;
+
+public class ElectricEngine implements Engine {
+    @Override
+    public void startEngine() {
+        // Start electric engine with a different mechanism
+    }
+}
@@ -0,0 +1,5 @@
+package solid.lsp;
+
+public interface Engine {
+    void startEngine();
+}
@@ -0,0 +1,81 @@
+package solid.lsp;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class EnginePool<E extends Engine> {
+    private final Supplier<E> factory;
+    private final Executor refillExecutor;
+    private final ConcurrentLinkedQueue<E> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private final int minIdle;
+    private final int maxIdle;
+
+    public EnginePool(Supplier<E> factory, int minIdle, int maxIdle, Executor refillExecutor) {
+        if (minIdle < 0 || maxIdle < minIdle) {
+            throw new IllegalArgumentException("Expected 0 <= minIdle <= maxIdle but got " + minIdle + " and " + maxIdle);
+        }
+        this.factory = factory;
+        this.refillExecutor = refillExecutor;
+        this.minIdle = minIdle;
+        this.maxIdle = maxIdle;
+        // Warm start: pay for minIdle cold starts up front instead of on the request path
+        refill();
+    }
+
+    public E checkOut() {
+        E engine = idle.poll();
+        if (engine == null) {
+            scheduleRefill();
+            return startNew();
+        }
+        if (idleCount.decrementAndGet() < minIdle) {
+            scheduleRefill();
+        }
+        return engine;
+    }
+
+    public void checkIn(E engine) {
+        // Reserve an idle slot first; if the pool is already full, let the engine be collected
+        if (idleCount.incrementAndGet() > maxIdle) {
+            idleCount.decrementAndGet();
+            return;
+        }
+        idle.offer(engine);
+    }
+
+    private void scheduleRefill() {
+        // At most one refill in flight, so a burst of check-outs does not queue a start per call
+        if (refilling.compareAndSet(false, true)) {
+            refillExecutor.execute(() -> {
+                try {
+                    refill();
+                } finally {
+                    refilling.set(false);
+                }
+            });
+        }
+    }
+
+    private void refill() {
+        while (idleCount.get() < minIdle) {
+            E engine = startNew();
+            // Reserve the slot the same way checkIn() does, so a concurrent check-in cannot push the pool past maxIdle
+            if (idleCount.incrementAndGet() > maxIdle) {
+                idleCount.decrementAndGet();
+                return;
+            }
+            idle.offer(engine);
+        }
+    }
+
+    private E startNew() {
+        E engine = factory.get();
+        engine.startEngine();
+        return engine;
+    }
+}
@@ -0,0 +1,8 @@
+package solid.lsp;
+
+public class FreeTrialPayment implements Payment {
+    @Override
+    public void processPayment() {
+        // Log free trial activation without processing a payment
+    }
+}
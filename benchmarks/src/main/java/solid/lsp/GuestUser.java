@@ -0,0 +1,9 @@
+package solid.lsp;
+
+public class GuestUser implements User {
+    @Override
+    public boolean checkAccess() {
+        // Guest users have different access rights
+        return false;
+    }
+}
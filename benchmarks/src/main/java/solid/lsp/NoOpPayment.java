@@ -0,0 +1,5 @@
+package solid.lsp;
+
+// Contract: processPayment() on a NoOpPayment has no observable effect, so skipping the call is equivalent to making it.
+// FreeTrialPayment does not qualify, because it logs the trial activation.
+public interface NoOpPayment extends Payment {}
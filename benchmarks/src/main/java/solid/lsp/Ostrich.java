@@ -0,0 +1,3 @@
+package solid.lsp;
+
+public class Ostrich implements Bird {}
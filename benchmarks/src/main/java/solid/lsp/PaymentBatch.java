@@ -0,0 +1,51 @@
+package solid.lsp;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PaymentBatch {
+    public interface PartitionLoop<T extends Payment> {
+        void processAll(List<T> payments);
+    }
+
+    // Shared by every type without a registered loop, so this call site can still see many receiver types
+    private static final PartitionLoop<Payment> GENERIC_LOOP = payments -> {
+        for (Payment payment : payments) {
+            payment.processPayment();
+        }
+    };
+
+    private final Map<Class<? extends Payment>, List<Payment>> partitions = new LinkedHashMap<>();
+    private final Map<Class<? extends Payment>, PartitionLoop<?>> loops = new HashMap<>();
+    private int skipped;
+
+    public PaymentBatch(List<? extends Payment> payments) {
+        for (Payment payment : payments) {
+            if (payment instanceof NoOpPayment) {
+                skipped++;
+                continue;
+            }
+            partitions.computeIfAbsent(payment.getClass(), type -> new ArrayList<>()).add(payment);
+        }
+    }
+
+    public <T extends Payment> PaymentBatch withLoop(Class<T> type, PartitionLoop<T> loop) {
+        loops.put(type, loop);
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void processAll() {
+        for (Map.Entry<Class<? extends Payment>, List<Payment>> partition : partitions.entrySet()) {
+            PartitionLoop<Payment> loop = (PartitionLoop<Payment>) loops.getOrDefault(partition.getKey(), GENERIC_LOOP);
+            loop.processAll(partition.getValue());
+        }
+    }
+
+    public int skippedCount() {
+        return skipped;
+    }
+}
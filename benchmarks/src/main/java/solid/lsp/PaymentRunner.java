@@ -0,0 +1,11 @@
+package solid.lsp;
+
+import java.util.List;
+
+public class PaymentRunner {
+    public void processAll(List<Payment> payments) {
+        for (Payment payment : payments) {
+            payment.processPayment(); // One call site sees every Payment type
+        }
+    }
+}
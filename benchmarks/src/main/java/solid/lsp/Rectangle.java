@@ -0,0 +1,15 @@
+package solid.lsp;
+
+public class Rectangle implements Shape {
+    protected int width, height;
+
+    public Rectangle(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    @Override
+    public int getArea() {
+        return width * height;
+    }
+}
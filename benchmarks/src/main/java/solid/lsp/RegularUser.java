@@ -0,0 +1,9 @@
+package solid.lsp;
+
+public class RegularUser implements User {
+    @Override
+    public boolean checkAccess() {
+        // Check access for a regular user
+        return true;
+    }
+}
@@ -0,0 +1,5 @@
+package solid.lsp;
+
+public interface Shape {
+    int getArea();
+}
@@ -0,0 +1,8 @@
+package solid.lsp;
+
+public class WaivedPayment implements NoOpPayment {
+    @Override
+    public void processPayment() {
+        // Fee waived: nothing to charge and nothing to record
+    }
+}
@@ -0,0 +1,7 @@
+package solid.ocp;
+
+public class AreaCalculator {
+    public double calculateShapeArea(Shape shape) {
+        return shape.calculateArea();
+    }
+}
@@ -0,0 +1,115 @@
+package solid.ocp;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class CallMetrics implements CallMetricsMXBean {
+    // HDR-style log-linear buckets: 8 linear sub-buckets per power of two, about 12% worst-case relative error
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS;
+    // Threads record into different copies of the histogram, like LongAdder cells; each copy spans several KB,
+    // so two stripes never share a cache line
+    private static final int STRIPES = Integer.highestOneBit(Runtime.getRuntime().availableProcessors()) << 1;
+    // Call counters sit 16 longs (128 bytes) apart for the same reason
+    private static final int COUNTER_SPACING = 16;
+    // Every call is counted, but only one in SAMPLE_PERIOD is timed: a System.nanoTime() pair costs 40-100 ns on
+    // virtualized hosts, which alone would exceed the overhead budget
+    static final int SAMPLE_PERIOD = 16;
+    static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(STRIPES * BUCKETS);
+    private final AtomicLongArray calls = new AtomicLongArray(STRIPES * COUNTER_SPACING);
+    private final LongAdder errors = new LongAdder();
+
+    // Counts the call and returns its start time if it is sampled, or NOT_SAMPLED; pass the result to stop()
+    public long start() {
+        long call = calls.getAndIncrement(stripe() * COUNTER_SPACING);
+        return (call & (SAMPLE_PERIOD - 1)) == 0 ? System.nanoTime() : NOT_SAMPLED;
+    }
+
+    public void stop(long start, boolean failed) {
+        if (failed) {
+            errors.increment();
+        }
+        if (start != NOT_SAMPLED) {
+            buckets.incrementAndGet(stripe() * BUCKETS + bucketIndex(Math.max(System.nanoTime() - start, 0)));
+        }
+    }
+
+    @Override
+    public long getCalls() {
+        long total = 0;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            total += calls.get(stripe * COUNTER_SPACING);
+        }
+        return total;
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public double getErrorRate() {
+        long total = getCalls();
+        return total == 0 ? 0.0 : (double) errors.sum() / total;
+    }
+
+    @Override
+    public long getMedianNanos() {
+        return percentile(0.5);
+    }
+
+    @Override
+    public long getP99Nanos() {
+        return percentile(0.99);
+    }
+
+    // Estimated from the sampled calls only
+    public long percentile(double fraction) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            for (int i = 0; i < BUCKETS; i++) {
+                long count = buckets.get(stripe * BUCKETS + i);
+                snapshot[i] += count;
+                total += count;
+            }
+        }
+        long target = (long) Math.ceil(fraction * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= target && snapshot[i] > 0) {
+                return lowerBound(i);
+            }
+        }
+        return 0;
+    }
+
+    private static int stripe() {
+        long id = Thread.currentThread().getId();
+        int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+
+    static int bucketIndex(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(nanos);
+        int subBucket = (int) (nanos >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return ((magnitude - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int magnitude = (index >>> SUB_BUCKET_BITS) + SUB_BUCKET_BITS - 1;
+        long subBucket = index & (SUB_BUCKETS - 1);
+        return (SUB_BUCKETS + subBucket) << (magnitude - SUB_BUCKET_BITS);
+    }
+}
@@ -0,0 +1,9 @@
+package solid.ocp;
+
+public interface CallMetricsMXBean {
+    long getCalls();
+    long getErrors();
+    double getErrorRate();
+    long getMedianNanos();
+    long getP99Nanos();
+}
@@ -0,0 +1,7 @@
+package solid.ocp;
+
+public class ConsoleLogStrategy implements LogStrategy {
+    public void log(String message) {
+        System.out.println(message);
+    }
+}
@@ -0,0 +1,7 @@
+package solid.ocp;
+
+public class CreditPaymentMethod implements PaymentMethod {
+    public void processPayment(double amount) {
+        // Process credit payment
+    }
+}
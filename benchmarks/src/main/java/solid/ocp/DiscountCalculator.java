@@ -0,0 +1,7 @@
+package solid.ocp;
+
+public class DiscountCalculator {
+    public double calculateDiscount(DiscountStrategy discountStrategy, double amount) {
+        return discountStrategy.applyDiscount(amount);
+    }
+}
@@ -0,0 +1,7 @@
+package solid.ocp;
+
+public class EmailNotification implements NotificationChannel {
+    public void sendNotification(String message) {
+        // Send email notification
+    }
+}
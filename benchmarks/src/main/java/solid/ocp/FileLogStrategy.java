@@ -0,0 +1,7 @@
+package solid.ocp;
+
+public class FileLogStrategy implements LogStrategy {
+    public void log(String message) {
+        // Code to log to a file
+    }
+}
@@ -0,0 +1,7 @@
+package solid.ocp;
+
+public class FixedDiscountStrategy implements DiscountStrategy {
+    public double applyDiscount(double amount) {
+        return amount - 50;
+    }
+}
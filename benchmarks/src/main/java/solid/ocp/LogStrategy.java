@@ -0,0 +1,5 @@
+package solid.ocp;
+
+public interface LogStrategy {
+    void log(String message);
+}
@@ -0,0 +1,13 @@
+package solid.ocp;
+
+public class Logger {
+    private LogStrategy logStrategy;
+
+    public Logger(LogStrategy logStrategy) {
+        this.logStrategy = logStrategy;
+    }
+
+    public void log(String message) {
+        logStrategy.log(message);
+    }
+}
@@ -0,0 +1,57 @@
+package solid.ocp;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+public class MetricsRegistry implements AutoCloseable {
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    // Part of every ObjectName, so two registries in one JVM never collide on, or take over, each other's beans
+    private final int id = NEXT_ID.incrementAndGet();
+    private final ConcurrentHashMap<String, CallMetrics> metrics = new ConcurrentHashMap<>();
+
+    public CallMetrics metricsFor(String name) {
+        CallMetrics existing = metrics.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        // Publish with putIfAbsent and register afterwards, so the MBeanServer call never runs inside a map bin lock
+        CallMetrics created = new CallMetrics();
+        CallMetrics raced = metrics.putIfAbsent(name, created);
+        if (raced != null) {
+            return raced;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(created, objectName(name));
+        } catch (JMException e) {
+            metrics.remove(name, created);
+            throw new IllegalStateException("Could not expose metrics for " + name + " over JMX", e);
+        }
+        return created;
+    }
+
+    @Override
+    public void close() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (String name : metrics.keySet()) {
+            try {
+                server.unregisterMBean(objectName(name));
+            } catch (InstanceNotFoundException alreadyGone) {
+                // Removed through JMX by someone else; nothing left to clean up
+            } catch (JMException e) {
+                throw new IllegalStateException("Could not remove metrics for " + name + " from JMX", e);
+            }
+        }
+        metrics.clear();
+    }
+
+    private ObjectName objectName(String name) throws MalformedObjectNameException {
+        return new ObjectName("solid.strategies:type=CallMetrics,registry=" + id + ",name=" + ObjectName.quote(name));
+    }
+}
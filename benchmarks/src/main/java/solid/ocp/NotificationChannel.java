@@ -0,0 +1,5 @@
+package solid.ocp;
+
+public interface NotificationChannel {
+    void sendNotification(String message);
+}
@@ -0,0 +1,7 @@
+package solid.ocp;
+
+public class NotificationService {
+    public void sendNotification(NotificationChannel channel, String message) {
+        channel.sendNotification(message);
+    }
+}
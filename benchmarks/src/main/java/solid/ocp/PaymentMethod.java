@@ -0,0 +1,5 @@
+package solid.ocp;
+
+public interface PaymentMethod {
+    void processPayment(double amount);
+}
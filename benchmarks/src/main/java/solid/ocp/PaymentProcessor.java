@@ -0,0 +1,7 @@
+package solid.ocp;
+
+public class PaymentProcessor {
+    public void processPayment(PaymentMethod paymentMethod, double amount) {
+        paymentMethod.processPayment(amount);
+    }
+}
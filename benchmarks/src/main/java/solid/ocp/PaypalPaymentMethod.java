@@ -0,0 +1,7 @@
+package solid.ocp;
+
+public class PaypalPaymentMethod implements PaymentMethod {
+    public void processPayment(double amount) {
+        // Process PayPal payment
+    }
+}
@@ -0,0 +1,7 @@
+package solid.ocp;
+
+public class PercentageDiscountStrategy implements DiscountStrategy {
+    public double applyDiscount(double amount) {
+        return amount - amount * 0.1;
+    }
+}
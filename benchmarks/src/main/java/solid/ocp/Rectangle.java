@@ -0,0 +1,16 @@
+package solid.ocp;
+
+public class Rectangle implements Shape {
+    private final double length;
+    private final double width;
+
+    public Rectangle(double length, double width) {
+        this.length = length;
+        this.width = width;
+    }
+
+    @Override
+    public double calculateArea() {
+        return length * width;
+    }
+}
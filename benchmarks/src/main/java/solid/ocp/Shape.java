@@ -0,0 +1,5 @@
+package solid.ocp;
+
+public interface Shape {
+    double calculateArea();
+}
@@ -0,0 +1,7 @@
+package solid.ocp;
+
+public class SmsNotification implements NotificationChannel {
+    public void sendNotification(String message) {
+        // Send SMS notification
+    }
+}
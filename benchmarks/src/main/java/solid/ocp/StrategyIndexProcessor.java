@@ -0,0 +1,85 @@
+package solid.ocp;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+@SupportedAnnotationTypes("solid.ocp.StrategyKey")
+public class StrategyIndexProcessor extends AbstractProcessor {
+    static final String INDEX_RESOURCE = "META-INF/strategy-index";
+
+    // "service key" -> implementation, in the order the entries were found
+    private final Map<String, String> entries = new LinkedHashMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(StrategyKey.class)) {
+            TypeElement implementation = (TypeElement) element;
+            String key = implementation.getAnnotation(StrategyKey.class).value();
+            String className = processingEnv.getElementUtils().getBinaryName(implementation).toString();
+            Set<String> services = new LinkedHashSet<>();
+            collectServices(implementation.asType(), services);
+            for (String service : services) {
+                String previous = entries.putIfAbsent(service + " " + key, className);
+                if (previous != null) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                            "Key '" + key + "' for " + service + " is already used by " + previous, implementation);
+                }
+            }
+        }
+        if (roundEnv.processingOver() && !entries.isEmpty()) {
+            writeIndex();
+        }
+        return true;
+    }
+
+    private void collectServices(TypeMirror type, Set<String> services) {
+        // Walks superclasses and superinterfaces, so a strategy extending an abstract base class is indexed as well
+        TypeElement element = (TypeElement) processingEnv.getTypeUtils().asElement(type);
+        if (element == null) {
+            return;
+        }
+        for (TypeMirror service : element.getInterfaces()) {
+            TypeElement serviceElement = (TypeElement) processingEnv.getTypeUtils().asElement(service);
+            if (services.add(serviceElement.getQualifiedName().toString())) {
+                collectServices(service, services);
+            }
+        }
+        if (element.getSuperclass().getKind() == TypeKind.DECLARED) {
+            collectServices(element.getSuperclass(), services);
+        }
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+            try (Writer writer = index.openWriter()) {
+                for (Map.Entry<String, String> entry : entries.entrySet()) {
+                    writer.write(entry.getKey() + " " + entry.getValue());
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write " + INDEX_RESOURCE + ": " + e);
+        }
+    }
+}
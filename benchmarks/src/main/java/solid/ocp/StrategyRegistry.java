@@ -0,0 +1,125 @@
+package solid.ocp;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class StrategyRegistry<T> {
+    private final Class<T> service;
+    private final ClassLoader classLoader;
+    private final Map<String, String> implementations = new HashMap<>();
+    private final ConcurrentHashMap<String, T> instances = new ConcurrentHashMap<>();
+
+    public StrategyRegistry(Class<T> service, ClassLoader classLoader) {
+        this.service = service;
+        this.classLoader = classLoader;
+        readIndexes();
+    }
+
+    private StrategyRegistry(Class<T> service, ClassLoader classLoader, Path snapshot) throws IOException {
+        this.service = service;
+        this.classLoader = classLoader;
+        List<String> resolved = new ArrayList<>();
+        for (String line : Files.readAllLines(snapshot, StandardCharsets.UTF_8)) {
+            String[] parts = line.split(" ");
+            if (parts.length == 4 && parts[0].equals(service.getName())) {
+                register(parts[1], parts[2], snapshot.toString());
+                if (parts[3].equals("resolved")) {
+                    resolved.add(parts[1]);
+                }
+            }
+        }
+        // Whatever the previous run needed is resolved again up front, so the first requests after a restart are warm
+        for (String key : resolved) {
+            get(key);
+        }
+    }
+
+    public static <T> StrategyRegistry<T> fromSnapshot(Class<T> service, ClassLoader classLoader, Path snapshot)
+            throws IOException {
+        return new StrategyRegistry<>(service, classLoader, snapshot);
+    }
+
+    public T get(String key) {
+        T instance = instances.get(key);
+        return instance != null ? instance : instances.computeIfAbsent(key, this::instantiate);
+    }
+
+    public Set<String> keys() {
+        return Collections.unmodifiableSet(implementations.keySet());
+    }
+
+    public void writeSnapshot(Path snapshot) throws IOException {
+        // The whole key -> implementation map, plus which keys this run resolved; one file instead of a classpath scan
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, String> entry : implementations.entrySet()) {
+            String state = instances.containsKey(entry.getKey()) ? "resolved" : "lazy";
+            lines.add(service.getName() + " " + entry.getKey() + " " + entry.getValue() + " " + state);
+        }
+        Files.write(snapshot, lines, StandardCharsets.UTF_8);
+    }
+
+    public void writeClassList(Path classList) throws IOException {
+        // One internal class name per line: the format -XX:SharedClassListFile expects for an AppCDS dump
+        List<String> lines = new ArrayList<>();
+        for (T instance : instances.values()) {
+            lines.add(instance.getClass().getName().replace('.', '/'));
+        }
+        Files.write(classList, lines);
+    }
+
+    private T instantiate(String key) {
+        String className = implementations.get(key);
+        if (className == null) {
+            throw new IllegalArgumentException("No " + service.getSimpleName() + " registered under '" + key + "'");
+        }
+        try {
+            return Class.forName(className, true, classLoader).asSubclass(service).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not instantiate " + className + " for '" + key + "'", e);
+        }
+    }
+
+    private void register(String key, String className, String origin) {
+        String previous = implementations.putIfAbsent(key, className);
+        if (previous != null && !previous.equals(className)) {
+            throw new IllegalStateException("Key '" + key + "' for " + service.getName() + " maps to both " + previous
+                    + " and " + className + " (seen in " + origin + ")");
+        }
+    }
+
+    private void readIndexes() {
+        // Only reads text: no strategy class is loaded until its key is first requested
+        try {
+            Enumeration<URL> indexes = classLoader.getResources(StrategyIndexProcessor.INDEX_RESOURCE);
+            while (indexes.hasMoreElements()) {
+                URL index = indexes.nextElement();
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(index.openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        String[] parts = line.trim().split(" ");
+                        if (parts.length == 3 && parts[0].equals(service.getName())) {
+                            register(parts[1], parts[2], index.toString());
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + StrategyIndexProcessor.INDEX_RESOURCE, e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package solid.ocp;
+
+public class TimedDiscountStrategy implements DiscountStrategy {
+    private final DiscountStrategy delegate;
+    private final CallMetrics metrics;
+
+    public TimedDiscountStrategy(DiscountStrategy delegate, MetricsRegistry registry) {
+        this.delegate = delegate;
+        this.metrics = registry.metricsFor("DiscountStrategy." + delegate.getClass().getName());
+    }
+
+    public double applyDiscount(double amount) {
+        long start = metrics.start();
+        boolean failed = true;
+        try {
+            double result = delegate.applyDiscount(amount);
+            failed = false;
+            return result;
+        } finally {
+            metrics.stop(start, failed);
+        }
+    }
+}
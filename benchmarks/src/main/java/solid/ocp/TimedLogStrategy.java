@@ -0,0 +1,22 @@
+package solid.ocp;
+
+public class TimedLogStrategy implements LogStrategy {
+    private final LogStrategy delegate;
+    private final CallMetrics metrics;
+
+    public TimedLogStrategy(LogStrategy delegate, MetricsRegistry registry) {
+        this.delegate = delegate;
+        this.metrics = registry.metricsFor("LogStrategy." + delegate.getClass().getName());
+    }
+
+    public void log(String message) {
+        long start = metrics.start();
+        boolean failed = true;
+        try {
+            delegate.log(message);
+            failed = false;
+        } finally {
+            metrics.stop(start, failed);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package solid.ocp;
+
+public class TimedNotificationChannel implements NotificationChannel {
+    private final NotificationChannel delegate;
+    private final CallMetrics metrics;
+
+    public TimedNotificationChannel(NotificationChannel delegate, MetricsRegistry registry) {
+        this.delegate = delegate;
+        this.metrics = registry.metricsFor("NotificationChannel." + delegate.getClass().getName());
+    }
+
+    public void sendNotification(String message) {
+        long start = metrics.start();
+        boolean failed = true;
+        try {
+            delegate.sendNotification(message);
+            failed = false;
+        } finally {
+            metrics.stop(start, failed);
+        }
+    }
+}
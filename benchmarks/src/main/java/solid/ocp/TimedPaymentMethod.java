@@ -0,0 +1,22 @@
+package solid.ocp;
+
+public class TimedPaymentMethod implements PaymentMethod {
+    private final PaymentMethod delegate;
+    private final CallMetrics metrics;
+
+    public TimedPaymentMethod(PaymentMethod delegate, MetricsRegistry registry) {
+        this.delegate = delegate;
+        this.metrics = registry.metricsFor("PaymentMethod." + delegate.getClass().getName());
+    }
+
+    public void processPayment(double amount) {
+        long start = metrics.start();
+        boolean failed = true;
+        try {
+            delegate.processPayment(amount);
+            failed = false;
+        } finally {
+            metrics.stop(start, failed);
+        }
+    }
+}
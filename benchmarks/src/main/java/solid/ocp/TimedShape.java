@@ -0,0 +1,24 @@
+package solid.ocp;
+
+public class TimedShape implements Shape {
+    private final Shape delegate;
+    private final CallMetrics metrics;
+
+    public TimedShape(Shape delegate, MetricsRegistry registry) {
+        this.delegate = delegate;
+        this.metrics = registry.metricsFor("Shape." + delegate.getClass().getName());
+    }
+
+    @Override
+    public double calculateArea() {
+        long start = metrics.start();
+        boolean failed = true;
+        try {
+            double area = delegate.calculateArea();
+            failed = false;
+            return area;
+        } finally {
+            metrics.stop(start, failed);
+        }
+    }
+}
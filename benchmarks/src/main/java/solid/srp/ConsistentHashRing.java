@@ -0,0 +1,51 @@
+package solid.srp;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+public final class ConsistentHashRing {
+    private final NavigableMap<Long, String> ring;
+    private final int virtualNodes;
+
+    public ConsistentHashRing(int virtualNodes) {
+        this(new TreeMap<>(), virtualNodes);
+    }
+
+    private ConsistentHashRing(NavigableMap<Long, String> ring, int virtualNodes) {
+        this.ring = ring;
+        this.virtualNodes = virtualNodes;
+    }
+
+    public ConsistentHashRing withNode(String nodeId) {
+        TreeMap<Long, String> copy = new TreeMap<>(ring);
+        for (int i = 0; i < virtualNodes; i++) {
+            copy.put(hash(nodeId + "#" + i), nodeId);
+        }
+        return new ConsistentHashRing(copy, virtualNodes);
+    }
+
+    public String nodeFor(String key) {
+        if (ring.isEmpty()) {
+            throw new IllegalStateException("No shards registered");
+        }
+        Map.Entry<Long, String> owner = ring.ceilingEntry(hash(key));
+        return owner != null ? owner.getValue() : ring.firstEntry().getValue();
+    }
+
+    static long hash(String value) {
+        // 64-bit FNV-1a followed by a murmur3 finalizer to spread similar keys around the ring
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
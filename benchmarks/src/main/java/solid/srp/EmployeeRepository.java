@@ -0,0 +1,7 @@
+package solid.srp;
+
+public class EmployeeRepository {
+    public void saveEmployee(Employee employee) {
+        // Save employee details to database
+    }
+}
@@ -0,0 +1,13 @@
+package solid.srp;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+public interface EmployeeStore {
+    void save(String key, Employee employee);
+    Employee find(String key);
+    Map<String, Employee> findAll(Collection<String> keys);
+    Set<String> keys();
+    void delete(String key);
+}
@@ -0,0 +1,93 @@
+package solid.srp;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class FileEmployeeStore implements EmployeeStore {
+    private static final String SUFFIX = ".employee";
+
+    private final Path directory;
+
+    public FileEmployeeStore(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create " + directory, e);
+        }
+    }
+
+    public void save(String key, Employee employee) {
+        // Write to a temporary file and rename it, so readers never see a half-written employee
+        Path target = fileFor(key);
+        Path temp = directory.resolve(target.getFileName() + "." + Thread.currentThread().getId() + ".tmp");
+        try {
+            Files.write(temp, Arrays.asList(employee.getName(), employee.getDepartment()), StandardCharsets.UTF_8);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not save employee " + key, e);
+        }
+    }
+
+    public Employee find(String key) {
+        try {
+            List<String> lines = Files.readAllLines(fileFor(key), StandardCharsets.UTF_8);
+            return new Employee(lines.get(0), lines.get(1));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read employee " + key, e);
+        }
+    }
+
+    public Map<String, Employee> findAll(Collection<String> keys) {
+        Map<String, Employee> found = new HashMap<>();
+        for (String key : keys) {
+            Employee employee = find(key);
+            if (employee != null) {
+                found.put(key, employee);
+            }
+        }
+        return found;
+    }
+
+    public Set<String> keys() {
+        Set<String> keys = new HashSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                keys.add(URLDecoder.decode(name.substring(0, name.length() - SUFFIX.length()), StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list " + directory, e);
+        }
+        return keys;
+    }
+
+    public void delete(String key) {
+        try {
+            Files.deleteIfExists(fileFor(key));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete employee " + key, e);
+        }
+    }
+
+    private Path fileFor(String key) {
+        return directory.resolve(URLEncoder.encode(key, StandardCharsets.UTF_8) + SUFFIX);
+    }
+}
@@ -0,0 +1,28 @@
+package solid.srp;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InMemoryEmployeeStore implements EmployeeStore {
+    private final ConcurrentHashMap<String, Employee> employees = new ConcurrentHashMap<>();
+
+    public void save(String key, Employee employee) { employees.put(key, employee); }
+    public Employee find(String key) { return employees.get(key); }
+    public Set<String> keys() { return new HashSet<>(employees.keySet()); }
+    public void delete(String key) { employees.remove(key); }
+
+    public Map<String, Employee> findAll(Collection<String> keys) {
+        Map<String, Employee> found = new HashMap<>();
+        for (String key : keys) {
+            Employee employee = employees.get(key);
+            if (employee != null) {
+                found.put(key, employee);
+            }
+        }
+        return found;
+    }
+}
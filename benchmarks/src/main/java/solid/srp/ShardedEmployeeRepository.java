@@ -0,0 +1,227 @@
+package solid.srp;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+public class ShardedEmployeeRepository {
+    private static final int LOCK_STRIPES = 256;
+
+    // The ring in use and, while a shard is being added, the ring from before. Swapped as one object, so every
+    // operation sees a consistent pair.
+    private static final class Topology {
+        private final ConsistentHashRing current;
+        private final ConsistentHashRing previous;
+
+        Topology(ConsistentHashRing current, ConsistentHashRing previous) {
+            this.current = current;
+            this.previous = previous;
+        }
+    }
+
+    private final Map<String, EmployeeStore> shards = new ConcurrentHashMap<>();
+    private final ReentrantLock[] keyLocks = new ReentrantLock[LOCK_STRIPES];
+    private final Function<Employee, String> keyOf;
+    private final ExecutorService executor;
+    private volatile Topology topology;
+
+    public ShardedEmployeeRepository(Function<Employee, String> keyOf, ExecutorService executor, int virtualNodes) {
+        this.keyOf = keyOf;
+        this.executor = executor;
+        this.topology = new Topology(new ConsistentHashRing(virtualNodes), null);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            keyLocks[i] = new ReentrantLock();
+        }
+    }
+
+    public void saveEmployee(Employee employee) {
+        String key = keyOf.apply(employee);
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            Topology t = topology;
+            String owner = t.current.nodeFor(key);
+            shards.get(owner).save(key, employee);
+            if (t.previous != null) {
+                String previousOwner = t.previous.nodeFor(key);
+                if (!previousOwner.equals(owner)) {
+                    // The old copy is stale now; removing it keeps reads of the previous owner correct
+                    shards.get(previousOwner).delete(key);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void deleteEmployee(String key) {
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            Topology t = topology;
+            shards.get(t.current.nodeFor(key)).delete(key);
+            if (t.previous != null) {
+                shards.get(t.previous.nodeFor(key)).delete(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Employee findEmployee(String key) {
+        while (true) {
+            Topology t = topology;
+            Employee employee = find(t, key);
+            if (employee != null || t == topology) {
+                return employee;
+            }
+            // A shard was added or finished moving while we read, so the key may have moved: look again
+        }
+    }
+
+    public Map<String, Employee> findEmployees(Collection<String> keys) {
+        Map<String, Employee> found = new HashMap<>();
+        List<String> remaining = new ArrayList<>(keys);
+        while (true) {
+            Topology t = topology;
+            if (t.previous != null) {
+                // Same order as find(): previous owners of moving keys first, then current owners, each in parallel
+                Map<String, List<String>> movingByShard = new HashMap<>();
+                for (String key : remaining) {
+                    String previousOwner = t.previous.nodeFor(key);
+                    if (!previousOwner.equals(t.current.nodeFor(key))) {
+                        movingByShard.computeIfAbsent(previousOwner, shard -> new ArrayList<>()).add(key);
+                    }
+                }
+                found.putAll(scatterGather(movingByShard));
+                remaining.removeIf(found::containsKey);
+            }
+
+            Map<String, List<String>> keysByShard = new HashMap<>();
+            for (String key : remaining) {
+                keysByShard.computeIfAbsent(t.current.nodeFor(key), shard -> new ArrayList<>()).add(key);
+            }
+            found.putAll(scatterGather(keysByShard));
+            remaining.removeIf(found::containsKey);
+
+            if (remaining.isEmpty() || t == topology) {
+                return found;
+            }
+        }
+    }
+
+    public synchronized void addShard(String shardId, EmployeeStore store) {
+        if (topology.previous != null) {
+            // Only left behind when a move and its rollback both failed; a new ring would drop the one still in use
+            throw new IllegalStateException("An earlier addShard did not finish; keys are split across two rings");
+        }
+        if (shards.putIfAbsent(shardId, store) != null) {
+            throw new IllegalArgumentException("Shard " + shardId + " is already registered");
+        }
+        ConsistentHashRing before = topology.current;
+        ConsistentHashRing after = before.withNode(shardId);
+        // Route new writes to the new layout first, wait for writes still using the old one, then move the keys
+        // the new shard now owns
+        topology = new Topology(after, before);
+        drainWriters();
+        try {
+            for (Map.Entry<String, EmployeeStore> shard : shards.entrySet()) {
+                if (shard.getKey().equals(shardId)) {
+                    continue;
+                }
+                for (String key : shard.getValue().keys()) {
+                    if (after.nodeFor(key).equals(shardId)) {
+                        moveKey(key, shard.getValue(), store);
+                    }
+                }
+            }
+        } catch (RuntimeException moveFailure) {
+            rollBack(shardId, store, before, after, moveFailure);
+            throw moveFailure;
+        }
+        topology = new Topology(after, null);
+    }
+
+    private void rollBack(String shardId, EmployeeStore store, ConsistentHashRing before, ConsistentHashRing after,
+                          RuntimeException moveFailure) {
+        // The same protocol in reverse: route writes back to the old layout, wait for writes still using the new one,
+        // then return every key the new shard holds, including ones written there during the move
+        topology = new Topology(before, after);
+        drainWriters();
+        try {
+            for (String key : store.keys()) {
+                moveKey(key, store, shards.get(before.nodeFor(key)));
+            }
+        } catch (RuntimeException rollbackFailure) {
+            // Keep both rings so every key stays reachable through the previous-owner reads
+            moveFailure.addSuppressed(rollbackFailure);
+            return;
+        }
+        topology = new Topology(before, null);
+        shards.remove(shardId);
+    }
+
+    private Employee find(Topology t, String key) {
+        String owner = t.current.nodeFor(key);
+        if (t.previous != null) {
+            String previousOwner = t.previous.nodeFor(key);
+            if (!previousOwner.equals(owner)) {
+                // A move saves to the new owner before deleting from the old one, so check the old owner first
+                Employee employee = shards.get(previousOwner).find(key);
+                if (employee != null) {
+                    return employee;
+                }
+            }
+        }
+        return shards.get(owner).find(key);
+    }
+
+    private Map<String, Employee> scatterGather(Map<String, List<String>> keysByShard) {
+        List<CompletableFuture<Map<String, Employee>>> reads = new ArrayList<>();
+        for (Map.Entry<String, List<String>> batch : keysByShard.entrySet()) {
+            EmployeeStore store = shards.get(batch.getKey());
+            reads.add(CompletableFuture.supplyAsync(() -> store.findAll(batch.getValue()), executor));
+        }
+        Map<String, Employee> found = new HashMap<>();
+        for (CompletableFuture<Map<String, Employee>> read : reads) {
+            found.putAll(read.join());
+        }
+        return found;
+    }
+
+    private void drainWriters() {
+        // A writer that read the old topology still holds its key lock; once every lock has been taken, all of them
+        // have finished
+        for (ReentrantLock lock : keyLocks) {
+            lock.lock();
+            lock.unlock();
+        }
+    }
+
+    private void moveKey(String key, EmployeeStore from, EmployeeStore to) {
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            // Re-read under the key lock: a delete or a newer save since keys() was listed wins over the listing
+            Employee employee = from.find(key);
+            if (employee != null) {
+                to.save(key, employee);
+                from.delete(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lockFor(String key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return keyLocks[(h ^ (h >>> 16)) & (LOCK_STRIPES - 1)];
+    }
+}
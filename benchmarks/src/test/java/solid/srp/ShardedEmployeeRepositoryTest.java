@@ -0,0 +1,253 @@
+package solid.srp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ShardedEmployeeRepositoryTest {
+    private static final int VIRTUAL_NODES = 64;
+
+    @TempDir
+    Path fileShardDirectory;
+
+    private final Map<String, EmployeeStore> stores = new LinkedHashMap<>();
+    private ExecutorService executor;
+    private ShardedEmployeeRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        repository = new ShardedEmployeeRepository(Employee::getName, executor, VIRTUAL_NODES);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void routesEveryEmployeeToTheShardThatOwnsItsKey() {
+        addMemoryShards(3);
+        addShard("file-0", new FileEmployeeStore(fileShardDirectory));
+        saveEmployees(1_000, "engineering");
+
+        ConsistentHashRing ring = ringOf(stores.keySet());
+        int stored = 0;
+        for (Map.Entry<String, EmployeeStore> store : stores.entrySet()) {
+            for (String key : store.getValue().keys()) {
+                assertEquals(ring.nodeFor(key), store.getKey(), key + " is stored on the wrong shard");
+                stored++;
+            }
+        }
+        assertEquals(1_000, stored);
+        for (int i = 0; i < 1_000; i++) {
+            Employee employee = repository.findEmployee("employee-" + i);
+            assertNotNull(employee);
+            assertEquals("engineering", employee.getDepartment());
+        }
+        assertNull(repository.findEmployee("employee-unknown"));
+    }
+
+    @Test
+    void findEmployeesQueriesEachShardOnceOnTheExecutor() {
+        Map<String, List<Thread>> readers = new ConcurrentHashMap<>();
+        for (int i = 0; i < 3; i++) {
+            String shardId = "memory-" + i;
+            addShard(shardId, new InMemoryEmployeeStore() {
+                @Override
+                public Map<String, Employee> findAll(Collection<String> keys) {
+                    readers.computeIfAbsent(shardId, id -> new ArrayList<>()).add(Thread.currentThread());
+                    return super.findAll(keys);
+                }
+            });
+        }
+        saveEmployees(300, "sales");
+
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 350; i++) {
+            keys.add("employee-" + i);
+        }
+        Map<String, Employee> found = repository.findEmployees(keys);
+
+        assertEquals(300, found.size());
+        for (int i = 0; i < 300; i++) {
+            assertEquals("sales", found.get("employee-" + i).getDepartment());
+        }
+        assertEquals(stores.keySet(), readers.keySet());
+        for (List<Thread> threads : readers.values()) {
+            assertEquals(1, threads.size());
+            assertNotEquals(Thread.currentThread(), threads.get(0));
+        }
+    }
+
+    @Test
+    void addShardMovesOnlyTheKeysTheNewShardOwns() {
+        addMemoryShards(3);
+        saveEmployees(3_000, "support");
+        Map<String, String> ownerBefore = ownerOfEveryKey();
+
+        addShard("file-0", new FileEmployeeStore(fileShardDirectory));
+
+        Map<String, String> ownerAfter = ownerOfEveryKey();
+        assertEquals(ownerBefore.keySet(), ownerAfter.keySet());
+        int moved = 0;
+        for (Map.Entry<String, String> owner : ownerAfter.entrySet()) {
+            if (!owner.getValue().equals(ownerBefore.get(owner.getKey()))) {
+                assertEquals("file-0", owner.getValue(), owner.getKey() + " moved between existing shards");
+                moved++;
+            }
+        }
+        // About a quarter of the keys should move to the fourth shard, never all of them
+        assertTrue(moved > 300 && moved < 1_500, "moved " + moved + " of 3000 keys");
+    }
+
+    @Test
+    void keepsConcurrentWritesAndDeletesWhileAShardIsAdded() throws InterruptedException {
+        addMemoryShards(3);
+        int stableCount = 5_000;
+        Map<String, String> expected = new ConcurrentHashMap<>();
+        for (int i = 0; i < stableCount; i++) {
+            repository.saveEmployee(new Employee("employee-" + i, "round-0"));
+            expected.put("employee-" + i, "round-0");
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger unreadable = new AtomicInteger();
+        CountDownLatch writing = new CountDownLatch(1);
+        Thread writer = new Thread(() -> {
+            int round = 1;
+            while (running.get()) {
+                for (int i = round % 7; i < stableCount; i += 7) {
+                    repository.saveEmployee(new Employee("employee-" + i, "round-" + round));
+                    expected.put("employee-" + i, "round-" + round);
+                }
+                String temporary = "temporary-" + round;
+                repository.saveEmployee(new Employee(temporary, "round-" + round));
+                expected.put(temporary, "round-" + round);
+                if (round % 2 == 0) {
+                    repository.deleteEmployee(temporary);
+                    expected.remove(temporary);
+                }
+                writing.countDown();
+                round++;
+            }
+        });
+        Thread reader = new Thread(() -> {
+            Random random = new Random(7);
+            while (running.get()) {
+                if (repository.findEmployee("employee-" + random.nextInt(stableCount)) == null) {
+                    unreadable.incrementAndGet();
+                }
+            }
+        });
+        writer.start();
+        reader.start();
+        writing.await();
+        addShard("file-0", new FileEmployeeStore(fileShardDirectory));
+        running.set(false);
+        writer.join();
+        reader.join();
+
+        assertEquals(0, unreadable.get(), "stable employees were unreadable during the move");
+        for (Map.Entry<String, String> entry : expected.entrySet()) {
+            Employee employee = repository.findEmployee(entry.getKey());
+            assertNotNull(employee, entry.getKey() + " was lost");
+            assertEquals(entry.getValue(), employee.getDepartment(), entry.getKey() + " has a stale value");
+        }
+        assertEquals(expected.size(), repository.findEmployees(expected.keySet()).size());
+        // Nothing deleted came back, and every stored key sits on the shard that owns it
+        assertEquals(expected.keySet(), ownerOfEveryKey().keySet());
+        ConsistentHashRing ring = ringOf(stores.keySet());
+        ownerOfEveryKey().forEach((key, shardId) -> assertEquals(ring.nodeFor(key), shardId));
+    }
+
+    @Test
+    void failedAddShardRestoresTheOldLayout() {
+        addMemoryShards(3);
+        saveEmployees(2_000, "finance");
+        AtomicInteger saves = new AtomicInteger();
+        InMemoryEmployeeStore failing = new InMemoryEmployeeStore() {
+            @Override
+            public void save(String key, Employee employee) {
+                if (saves.incrementAndGet() == 50) {
+                    throw new IllegalStateException("Disk full");
+                }
+                super.save(key, employee);
+            }
+        };
+
+        assertThrows(IllegalStateException.class, () -> repository.addShard("failing", failing));
+
+        assertTrue(failing.keys().isEmpty(), "keys were left on the failed shard");
+        assertAllFound(2_000);
+        addShard("memory-3", new InMemoryEmployeeStore());
+        assertAllFound(2_000);
+        ConsistentHashRing ring = ringOf(stores.keySet());
+        ownerOfEveryKey().forEach((key, shardId) -> assertEquals(ring.nodeFor(key), shardId));
+    }
+
+    private void addMemoryShards(int count) {
+        for (int i = 0; i < count; i++) {
+            addShard("memory-" + i, new InMemoryEmployeeStore());
+        }
+    }
+
+    private void addShard(String shardId, EmployeeStore store) {
+        repository.addShard(shardId, store);
+        stores.put(shardId, store);
+    }
+
+    private void saveEmployees(int count, String department) {
+        for (int i = 0; i < count; i++) {
+            repository.saveEmployee(new Employee("employee-" + i, department));
+        }
+    }
+
+    private void assertAllFound(int count) {
+        for (int i = 0; i < count; i++) {
+            assertNotNull(repository.findEmployee("employee-" + i), "employee-" + i + " is unreachable");
+        }
+    }
+
+    private Map<String, String> ownerOfEveryKey() {
+        Map<String, String> owners = new HashMap<>();
+        for (Map.Entry<String, EmployeeStore> store : stores.entrySet()) {
+            for (String key : store.getValue().keys()) {
+                assertNull(owners.put(key, store.getKey()), key + " is stored on two shards");
+            }
+        }
+        return owners;
+    }
+
+    private static ConsistentHashRing ringOf(Set<String> shardIds) {
+        ConsistentHashRing ring = new ConsistentHashRing(VIRTUAL_NODES);
+        for (String shardId : shardIds) {
+            ring = ring.withNode(shardId);
+        }
+        return ring;
+    }
+}